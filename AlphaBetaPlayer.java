@@ -0,0 +1,603 @@
+import java.util.Arrays;
+
+/**
+ * A search-based automatic player for Tic-Tac-Toe on any board size and win streak.
+ * <p>
+ * The AlphaBetaPlayer runs an iterative-deepening negamax search with alpha-beta pruning.
+ * Each iteration searches one ply deeper than the previous one, starting from the best
+ * move found so far, until the maximum depth is reached or the node budget runs out.
+ * When the budget runs out mid-iteration, the result of the last completed iteration is played.
+ * </p>
+ *
+ * <p>To keep the branching factor small on large boards, only empty cells near existing marks
+ * are considered, immediate wins end the search of a node, and when the opponent threatens
+ * to win on their next move, only blocking moves are searched. Leaves are scored by counting,
+ * for every line window of length {@code winStreak}, how many marks each player has
+ * in windows that the other player has not yet blocked.</p>
+ *
+ * <p>Search results are kept in a transposition table keyed by the board's canonical hash
+ * ({@link Board#getCanonicalHash()}), so a position and its rotations and reflections share
+ * one entry. The table persists between the moves of a game and is cleared when a new game
+ * starts, so a player's moves never depend on the games it played before; its best moves are
+ * stored in canonical orientation and mapped back to the board before being searched first.</p>
+ *
+ * <p>Unlike {@link SmartPlayer}, nothing is tied to the default configuration:
+ * the board size is read from the board and the win streak is given at construction.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Player
+ * @see SmartPlayer
+ * @see WinLines
+ * @see Board
+ */
+public class AlphaBetaPlayer implements Player {
+
+    /** The win streak used by the no-arg constructor (matches the default {@link Game}). */
+    private static final int DEFAULT_WIN_STREAK = 3;
+
+    /** The default maximum search depth, in plies. */
+    private static final int DEFAULT_MAX_DEPTH = 8;
+
+    /** The default number of nodes a single move may visit. */
+    private static final int DEFAULT_NODE_BUDGET = 1500;
+
+    /** Score of a won position, before subtracting the distance from the root. */
+    private static final int WIN_SCORE = 1_000_000;
+
+    /** A bound larger than any reachable score. */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /** How far (in cells) from an existing mark a candidate move may be. */
+    private static final int NEIGHBOUR_RADIUS = 2;
+
+    /** Base of the per-window weight: a window with c marks scores WINDOW_WEIGHT^c. */
+    private static final int WINDOW_WEIGHT = 8;
+
+    /** log2 of the number of transposition table entries. */
+    private static final int TABLE_BITS = 16;
+
+    /** Mask selecting a transposition table slot from a key. */
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+    /** Mixed into the keys of positions where O is to move. */
+    private static final long O_TO_MOVE_KEY = 0x9E3779B97F4A7C15L;
+
+    /** Scores beyond this magnitude are wins or losses, stored relative to the node. */
+    private static final int WIN_THRESHOLD = WIN_SCORE / 2;
+
+    /** Cap of a window's weight, so long win streaks cannot overflow it (8^5 and below are exact). */
+    private static final int MAX_WINDOW_WEIGHT = WIN_THRESHOLD / WINDOW_WEIGHT;
+
+    /** Cap of a heuristic score's magnitude, so no quiet position scores as a win or loss. */
+    private static final int MAX_HEURISTIC_SCORE = WIN_THRESHOLD - 1;
+
+    /** Table entry flag: the stored score is exact. */
+    private static final int EXACT = 1;
+
+    /** Table entry flag: the stored score is a lower bound (the search failed high). */
+    private static final int LOWER_BOUND = 2;
+
+    /** Table entry flag: the stored score is an upper bound (the search failed low). */
+    private static final int UPPER_BOUND = 3;
+
+    /** Bits of a table entry's info word holding the best move. */
+    private static final int MOVE_BITS = 16;
+
+    /** Bits of a table entry's info word holding the search depth. */
+    private static final int DEPTH_BITS = 8;
+
+    /** The deepest search a table entry can record. */
+    private static final int MAX_SEARCH_DEPTH = (1 << DEPTH_BITS) - 1;
+
+    /** The number of consecutive marks required to win. */
+    private final int winStreak;
+
+    /** The maximum search depth, in plies. */
+    private final int maxDepth;
+
+    /** The maximum number of nodes visited per move. */
+    private final int nodeBudget;
+
+    /** Nodes visited during the current move. */
+    private int nodes;
+
+    /** Set when the node budget ran out during the current iteration. */
+    private boolean outOfBudget;
+
+    /** The shared window table of the current board size and win streak. */
+    private WinLines lines;
+
+    /** The board size the move buffers were allocated for. */
+    private int bufferSize = -1;
+
+    /** Candidate moves (cell indices) per ply, reused between searches. */
+    private int[][] moveBuffers;
+
+    /** Ordering keys of the candidate moves per ply. */
+    private int[][] orderBuffers;
+
+    /** Per-cell scores of the root moves from the last completed iteration. */
+    private int[] rootScores;
+
+    /**
+     * Transposition table keys: {@link Board#getCanonicalHash()} mixed with the side to move,
+     * so the eight symmetric variants of a position share one entry.
+     */
+    private long[] tableKeys;
+
+    /** Transposition table scores, with wins and losses relative to the stored node. */
+    private int[] tableScores;
+
+    /** Transposition table info words: flag, depth and best move (in canonical orientation); 0 if empty. */
+    private int[] tableInfo;
+
+    /** The board of the game the transposition table belongs to. */
+    private Board tableBoard;
+
+    /** The {@link Board#getGeneration()} of {@link #tableBoard} when this player last moved. */
+    private int tableGeneration;
+
+    /** The move count of {@link #tableBoard} after this player last moved. */
+    private int tableMoveCount;
+
+    /** Default constructor, for the default win streak of 3. */
+    public AlphaBetaPlayer() {
+        this(DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * Constructs a player for the given win streak with the default search limits.
+     *
+     * @param winStreak the number of marks needed in a row to win.
+     */
+    public AlphaBetaPlayer(int winStreak) {
+        this(winStreak, DEFAULT_MAX_DEPTH, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * Constructs a player with custom search limits.
+     *
+     * @param winStreak  the number of marks needed in a row to win.
+     * @param maxDepth   the maximum search depth, in plies, clamped to 1..{@value #MAX_SEARCH_DEPTH}.
+     * @param nodeBudget the maximum number of nodes visited per move.
+     */
+    public AlphaBetaPlayer(int winStreak, int maxDepth, int nodeBudget) {
+        this.winStreak = winStreak;
+        this.maxDepth = Math.max(1, Math.min(MAX_SEARCH_DEPTH, maxDepth));
+        this.nodeBudget = Math.max(1, nodeBudget);
+    }
+
+    /**
+     * Plays a single turn by searching for the best move and placing the mark there.
+     *
+     * @param board the {@link Board} representing the current game state.
+     * @param mark  the {@link Mark} representing the player's symbol (X or O).
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        int size = board.getSize();
+        if (board.isFull()) {
+            return;
+        }
+        ensureBuffers(size);
+        if (isNewGame(board)) {
+            Arrays.fill(tableInfo, 0);
+        }
+
+        int best = searchRoot(board, mark);
+        board.putMark(mark, best / size, best % size);
+        tableBoard = board;
+        tableGeneration = board.getGeneration();
+        tableMoveCount = board.getMoveCount();
+    }
+
+    /**
+     * Checks whether a board holds another game than the one of this player's last move:
+     * it is another board, or its history was rewritten or shortened since (e.g. by
+     * {@link Board#reset()}), rather than only extended by the opponent's moves.
+     *
+     * @param board the board to move on.
+     * @return {@code true} if the transposition table holds entries of an earlier game.
+     */
+    private boolean isNewGame(Board board) {
+        return board != tableBoard || board.getGeneration() != tableGeneration
+                || board.getMoveCount() < tableMoveCount;
+    }
+
+    /**
+     * Runs iterative deepening from the current position.
+     *
+     * @param board the current board.
+     * @param mark  the mark to move.
+     * @return the cell index of the chosen move.
+     */
+    private int searchRoot(Board board, Mark mark) {
+        int size = board.getSize();
+        int[] moves = moveBuffers[0];
+        int count = generateMoves(board, mark, moves, orderBuffers[0]);
+        int best = moves[0];
+        if (count == 1) {
+            return best;
+        }
+
+        nodes = 0;
+        outOfBudget = false;
+        for (int depth = 1; depth <= Math.min(maxDepth, board.emptyCount()); depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = moves[0];
+            for (int i = 0; i < count; i++) {
+                int cell = moves[i];
+                board.putMark(mark, cell / size, cell % size);
+                int score = -negamax(board, opponentOf(mark), cell, depth - 1, 1, -INFINITY, -alpha);
+                board.removeMark(cell / size, cell % size);
+                if (outOfBudget) {
+                    return best;
+                }
+                rootScores[cell] = score;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = cell;
+                }
+            }
+            best = iterationBest;
+            if (alpha >= WIN_SCORE - maxDepth || alpha <= -(WIN_SCORE - maxDepth)) {
+                break; // the outcome is already decided
+            }
+            sortRootByScore(moves, count);
+        }
+        return best;
+    }
+
+    /**
+     * Negamax search with alpha-beta pruning.
+     *
+     * @param board    the board, with {@code lastMove} already placed.
+     * @param mark     the mark to move in this node.
+     * @param lastMove the cell index of the move that led to this node.
+     * @param depth    the remaining depth, in plies.
+     * @param ply      the distance from the root, in plies.
+     * @param alpha    the lower bound of the search window.
+     * @param beta     the upper bound of the search window.
+     * @return the score of the position from the point of view of {@code mark}.
+     */
+    private int negamax(Board board, Mark mark, int lastMove, int depth, int ply, int alpha, int beta) {
+        int size = board.getSize();
+        if (++nodes > nodeBudget) {
+            outOfBudget = true;
+            return 0;
+        }
+        if (board.completesStreak(lastMove / size, lastMove % size, winStreak)) {
+            return -(WIN_SCORE - ply); // the previous move won
+        }
+        if (board.isFull()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate(board, mark);
+        }
+
+        // Probe the transposition table under the canonical orientation of the position
+        int transform = board.getCanonicalTransform();
+        long key = board.getSymmetricHash(transform) ^ (mark == Mark.O ? O_TO_MOVE_KEY : 0);
+        int slot = (int) key & TABLE_MASK;
+        int tableMove = Board.NO_MOVE;
+        int info = tableInfo[slot];
+        if (info != 0 && tableKeys[slot] == key) {
+            tableMove = board.inverseTransformCell(transform, info & ((1 << MOVE_BITS) - 1));
+            if (((info >>> MOVE_BITS) & ((1 << DEPTH_BITS) - 1)) >= depth) {
+                int score = fromTable(tableScores[slot], ply);
+                int flag = info >>> (MOVE_BITS + DEPTH_BITS);
+                if (flag == EXACT
+                        || (flag == LOWER_BOUND && score >= beta)
+                        || (flag == UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] moves = moveBuffers[ply];
+        int count = generateMoves(board, mark, moves, orderBuffers[ply]);
+        moveToFront(moves, count, tableMove);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = moves[0];
+        for (int i = 0; i < count; i++) {
+            int cell = moves[i];
+            board.putMark(mark, cell / size, cell % size);
+            int score = -negamax(board, opponentOf(mark), cell, depth - 1, ply + 1, -beta, -alpha);
+            board.removeMark(cell / size, cell % size);
+            if (outOfBudget) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = cell;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int flag = (best <= originalAlpha) ? UPPER_BOUND : (best >= beta) ? LOWER_BOUND : EXACT;
+        tableKeys[slot] = key;
+        tableScores[slot] = toTable(best, ply);
+        tableInfo[slot] = (flag << (MOVE_BITS + DEPTH_BITS)) | (depth << MOVE_BITS)
+                | board.transformCell(transform, bestMove);
+        return best;
+    }
+
+    /**
+     * Converts a score to its transposition table form: wins and losses count plies
+     * from the stored node rather than from the root, so they stay valid at any ply.
+     *
+     * @param score the score at the node.
+     * @param ply   the node's distance from the root.
+     * @return the score to store.
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return (score < -WIN_THRESHOLD) ? score - ply : score;
+    }
+
+    /**
+     * Converts a stored transposition table score back to a score at the given ply.
+     *
+     * @param stored the stored score.
+     * @param ply    the node's distance from the root.
+     * @return the score at the node.
+     */
+    private static int fromTable(int stored, int ply) {
+        if (stored > WIN_THRESHOLD) {
+            return stored - ply;
+        }
+        return (stored < -WIN_THRESHOLD) ? stored + ply : stored;
+    }
+
+    /**
+     * Moves a cell to the front of a move list, keeping the order of the others,
+     * if it is in the list.
+     *
+     * @param moves the move list.
+     * @param count the number of moves.
+     * @param cell  the cell to search first, or {@link Board#NO_MOVE}.
+     */
+    private static void moveToFront(int[] moves, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == cell) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = cell;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fills {@code moves} with the candidate moves of the position, best-looking first.
+     * <p>
+     * An immediate win is returned alone. Otherwise, if the opponent could win on their next
+     * move, only the cells blocking that are returned. Otherwise every empty cell within
+     * {@value #NEIGHBOUR_RADIUS} cells of an existing mark is returned (or the center on an
+     * empty board), ordered by the number of nearby marks and closeness to the center.
+     * </p>
+     *
+     * @param board the current board.
+     * @param mark  the mark to move.
+     * @param moves the buffer receiving the cell indices.
+     * @param order a scratch buffer for the ordering keys.
+     * @return the number of candidate moves.
+     */
+    private int generateMoves(Board board, Mark mark, int[] moves, int[] order) {
+        int size = board.getSize();
+        Mark opponent = opponentOf(mark);
+        if (board.emptyCount() == size * size) {
+            moves[0] = (size / 2) * size + size / 2;
+            return 1;
+        }
+
+        int count = 0;
+        int blocks = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.getMark(row, col) != Mark.BLANK) {
+                    continue;
+                }
+                int nearby = countNearbyMarks(board, row, col);
+                if (nearby == 0) {
+                    continue;
+                }
+                int cell = row * size + col;
+
+                board.putMark(mark, row, col);
+                boolean wins = board.completesStreak(row, col, winStreak);
+                board.removeMark(row, col);
+                if (wins) {
+                    moves[0] = cell;
+                    return 1;
+                }
+
+                board.putMark(opponent, row, col);
+                boolean blocksWin = board.completesStreak(row, col, winStreak);
+                board.removeMark(row, col);
+
+                int center = size - Math.abs(2 * row - (size - 1)) - Math.abs(2 * col - (size - 1));
+                int key = nearby * 4 * size + center;
+                if (blocksWin) {
+                    // Keep blocking moves in a prefix of the buffer
+                    moves[count] = moves[blocks];
+                    order[count] = order[blocks];
+                    moves[blocks] = cell;
+                    order[blocks] = key;
+                    blocks++;
+                } else {
+                    moves[count] = cell;
+                    order[count] = key;
+                }
+                count++;
+            }
+        }
+
+        if (blocks > 0) {
+            count = blocks;
+        }
+        sortByKeyDescending(moves, order, count);
+        return count;
+    }
+
+    /**
+     * Counts the marks within {@value #NEIGHBOUR_RADIUS} cells of the given cell,
+     * weighting the immediate neighbours double.
+     *
+     * @param board the current board.
+     * @param row   the row index.
+     * @param col   the column index.
+     * @return the weighted number of nearby marks.
+     */
+    private int countNearbyMarks(Board board, int row, int col) {
+        int count = 0;
+        for (int dr = -NEIGHBOUR_RADIUS; dr <= NEIGHBOUR_RADIUS; dr++) {
+            for (int dc = -NEIGHBOUR_RADIUS; dc <= NEIGHBOUR_RADIUS; dc++) {
+                if (board.getMark(row + dr, col + dc) != Mark.BLANK) {
+                    count += (Math.abs(dr) <= 1 && Math.abs(dc) <= 1) ? 2 : 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scores a quiet position from the point of view of {@code mark}.
+     * <p>
+     * Every window of {@code winStreak} cells along a row, column or diagonal that holds marks
+     * of only one player adds {@value #WINDOW_WEIGHT} to the power of its mark count,
+     * positively for {@code mark} and negatively for the opponent. The sum is clamped to
+     * {@value #MAX_HEURISTIC_SCORE} in magnitude, below the scores of won and lost positions.
+     * </p>
+     *
+     * @param board the current board.
+     * @param mark  the mark to score for.
+     * @return the heuristic score.
+     */
+    private int evaluate(Board board, Mark mark) {
+        long score = 0;
+        for (int window = 0; window < lines.getWindowCount(); window++) {
+            score += scoreWindow(board, mark, window);
+        }
+        return (int) Math.max(-MAX_HEURISTIC_SCORE, Math.min(MAX_HEURISTIC_SCORE, score));
+    }
+
+    /**
+     * Scores a single window for {@link #evaluate(Board, Mark)}.
+     *
+     * @param board  the current board.
+     * @param mark   the mark to score for.
+     * @param window the window, as numbered by {@link WinLines}.
+     * @return the window's contribution to the score.
+     */
+    private int scoreWindow(Board board, Mark mark, int window) {
+        int own = 0;
+        int other = 0;
+        for (int k = 0; k < winStreak; k++) {
+            Mark cell = board.getMark(lines.cellOf(window, k));
+            if (cell == mark) {
+                own++;
+            } else if (cell != Mark.BLANK) {
+                other++;
+            }
+            if (own > 0 && other > 0) {
+                return 0; // blocked for both players
+            }
+        }
+        if (own > 0) {
+            return weight(own);
+        }
+        if (other > 0) {
+            return -weight(other);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the weight of a window holding {@code count} marks of a single player.
+     *
+     * @param count the number of marks.
+     * @return {@value #WINDOW_WEIGHT} to the power of {@code count}, at most {@value #MAX_WINDOW_WEIGHT}.
+     */
+    static int weight(int count) {
+        long result = 1;
+        for (int i = 0; i < count && result < MAX_WINDOW_WEIGHT; i++) {
+            result *= WINDOW_WEIGHT;
+        }
+        return (int) Math.min(result, MAX_WINDOW_WEIGHT);
+    }
+
+    /**
+     * Sorts the root moves by the scores of the last completed iteration, best first.
+     *
+     * @param moves the root moves.
+     * @param count the number of root moves.
+     */
+    private void sortRootByScore(int[] moves, int count) {
+        int[] order = orderBuffers[0];
+        for (int i = 0; i < count; i++) {
+            order[i] = rootScores[moves[i]];
+        }
+        sortByKeyDescending(moves, order, count);
+    }
+
+    /**
+     * Stable insertion sort of {@code moves} by descending {@code keys}.
+     *
+     * @param moves the moves to sort.
+     * @param keys  the keys, sorted along with the moves.
+     * @param count the number of entries to sort.
+     */
+    private static void sortByKeyDescending(int[] moves, int[] keys, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] < key) {
+                moves[j + 1] = moves[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            keys[j + 1] = key;
+        }
+    }
+
+    /**
+     * Allocates the per-ply buffers for the given board size, if not done already.
+     *
+     * @param size the board size.
+     */
+    private void ensureBuffers(int size) {
+        if (size == bufferSize) {
+            return;
+        }
+        int cells = size * size;
+        moveBuffers = new int[maxDepth + 1][cells];
+        orderBuffers = new int[maxDepth + 1][cells];
+        rootScores = new int[cells];
+        tableKeys = new long[1 << TABLE_BITS];
+        tableScores = new int[1 << TABLE_BITS];
+        tableInfo = new int[1 << TABLE_BITS];
+        lines = WinLines.of(size, winStreak);
+        bufferSize = size;
+    }
+
+    /**
+     * Returns the opposing mark.
+     *
+     * @param mark X or O.
+     * @return O for X, and X for O.
+     */
+    private static Mark opponentOf(Mark mark) {
+        return (mark == Mark.X) ? Mark.O : Mark.X;
+    }
+}
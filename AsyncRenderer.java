@@ -0,0 +1,236 @@
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * A renderer that draws boards on a background thread, decoupling drawing from the game loop.
+ * <p>
+ * Each call to {@link #renderBoard(Board)} only copies a snapshot of the board into a bounded
+ * ring buffer and returns. A daemon thread, started with the first frame, takes snapshots from
+ * the buffer in order and passes them to the wrapped renderer (for example a {@link ConsoleRenderer}),
+ * so a slow terminal no longer throttles how fast games are played.
+ * </p>
+ *
+ * <p>When the game loop produces frames faster than they can be drawn and the buffer is full,
+ * the {@link OverflowPolicy} decides what happens. Call {@link #flush()} to wait until every
+ * accepted frame has been drawn, e.g. before printing results, and {@link #close()} to stop
+ * the thread once the renderer is no longer needed.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Renderer
+ * @see RendererFactory
+ */
+public class AsyncRenderer implements Renderer {
+
+    /**
+     * What {@link #renderBoard(Board)} does when the frame buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /** Wait until the drawing thread frees a slot; every frame is drawn. */
+        BLOCK,
+
+        /**
+         * Replace the newest buffered frame with the new one. Older buffered frames and the
+         * latest frame are still drawn; frames in between are dropped.
+         */
+        DROP_INTERMEDIATE,
+
+        /** Keep only the latest frame: every new frame replaces all frames not drawn yet. */
+        LATEST_ONLY
+    }
+
+    /** The renderer that does the actual drawing, on the background thread. */
+    private final Renderer delegate;
+
+    /** What to do when the buffer is full. */
+    private final OverflowPolicy policy;
+
+    /** The capacity of the ring buffer. */
+    private final int capacity;
+
+    /** Guards all the fields below. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a frame is added to the buffer. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Signalled when a frame is taken from the buffer or finished drawing. */
+    private final Condition notFull = lock.newCondition();
+
+    /** The ring buffer of board snapshots, allocated on the first frame. */
+    private Board[] slots;
+
+    /** The snapshot being drawn by the background thread. */
+    private Board drawing;
+
+    /** Index of the oldest buffered frame. */
+    private int head;
+
+    /** Number of buffered frames. */
+    private int count;
+
+    /** Whether the background thread is currently drawing a frame. */
+    private boolean busy;
+
+    /** The background thread, or {@code null} before the first frame. */
+    private Thread drawer;
+
+    /** Whether {@link #close()} was called. */
+    private boolean closed;
+
+    /**
+     * Constructs an asynchronous renderer.
+     *
+     * @param delegate the renderer that draws the frames.
+     * @param capacity the maximum number of frames buffered at once.
+     * @param policy   what to do when the buffer is full.
+     */
+    public AsyncRenderer(Renderer delegate, int capacity, OverflowPolicy policy) {
+        this.delegate = delegate;
+        this.capacity = (policy == OverflowPolicy.LATEST_ONLY) ? 1 : Math.max(1, capacity);
+        this.policy = policy;
+    }
+
+    /**
+     * Queues a snapshot of the board for drawing.
+     *
+     * @param board the {@link Board} object representing the current game state.
+     * @throws IllegalStateException if the renderer is closed.
+     */
+    @Override
+    public void renderBoard(Board board) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The renderer is closed");
+            }
+            if (drawer == null) {
+                drawer = new Thread(this::drawFrames, "async-renderer");
+                drawer.setDaemon(true);
+                drawer.start();
+            }
+            ensureSlots(board.getSize());
+            if (count == capacity) {
+                if (policy == OverflowPolicy.BLOCK) {
+                    while (count == capacity) {
+                        notFull.awaitUninterruptibly();
+                    }
+                } else {
+                    // Overwrite the newest buffered frame
+                    slots[(head + count - 1) % capacity].copyFrom(board);
+                    return;
+                }
+            }
+            slots[(head + count) % capacity].copyFrom(board);
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every buffered frame has been drawn, then flushes the wrapped renderer.
+     */
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            while (count > 0 || busy) {
+                notFull.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        delegate.flush();
+    }
+
+    /**
+     * Draws every buffered frame, stops the background thread and closes the wrapped renderer.
+     * Frames can no longer be rendered afterwards; closing again does nothing.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signalAll();
+            thread = drawer;
+        } finally {
+            lock.unlock();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        delegate.close();
+    }
+
+    /**
+     * The body of the background thread: takes frames in order and draws them,
+     * until the renderer is closed and every buffered frame is drawn.
+     */
+    private void drawFrames() {
+        while (true) {
+            lock.lock();
+            try {
+                while (count == 0 && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (count == 0) {
+                    return;
+                }
+                drawing.copyFrom(slots[head]);
+                head = (head + 1) % capacity;
+                count--;
+                busy = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                delegate.renderBoard(drawing);
+            } catch (RuntimeException e) {
+                Logger.getGlobal().severe("Asynchronous rendering failed: " + e);
+            } finally {
+                lock.lock();
+                try {
+                    busy = false;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocates the snapshot boards for the given size, if not done already.
+     * Must be called with the lock held, and before any frame of that size is buffered.
+     *
+     * @param size the board size.
+     */
+    private void ensureSlots(int size) {
+        if (slots != null && slots[0].getSize() == size) {
+            return;
+        }
+        while (count > 0 || busy) {
+            notFull.awaitUninterruptibly(); // let frames of the old size drain first
+        }
+        BoardFactory boardFactory = new BoardFactory();
+        slots = new Board[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = boardFactory.buildBoard(size);
+        }
+        drawing = boardFactory.buildBoard(size);
+    }
+}
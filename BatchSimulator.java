@@ -0,0 +1,402 @@
+import java.util.Locale;
+
+/**
+ * Plays many games of simple policies in lockstep, for very fast statistics on small boards.
+ * <p>
+ * A {@link Tournament} advances one {@link Game} at a time through virtual
+ * {@link Player#playTurn(Board, Mark)} calls. This simulator instead keeps a batch of games in
+ * a struct-of-arrays layout: one {@code long} bitboard per mark and game, in two parallel
+ * arrays. Every ply, one tight loop applies the same policy to every running game of the batch
+ * where that player is to move. Since all games of a batch start together, the number of
+ * empty cells is the same in all running games, and a move is a few bit operations:
+ * </p>
+ * <ul>
+ *     <li>{@value #NAIVE_TYPE} plays the lowest empty cell, like {@link NaivePlayer};</li>
+ *     <li>{@value #RANDOM_TYPE} plays a uniformly random empty cell, like {@link WhateverPlayer}.</li>
+ * </ul>
+ * <p>
+ * A move wins when it fills one of the {@link WinLines} windows through its cell, each kept as
+ * a bit mask; on boards of up to 4x4 cells, a table of all winning bitboards answers in one
+ * lookup. Finished games are swapped out of the batch, and the random cell is selected without
+ * data-dependent branches, since mispredicted branches rather than arithmetic dominate the cost
+ * of such short games. Rounds alternate the starting player exactly as in a tournament, and the
+ * results are printed in the same format. Boards of up to 8x8 cells are supported.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see Tournament
+ * @see WinLines
+ */
+public class BatchSimulator {
+
+    /** Identifier of the policy playing the lowest empty cell. */
+    private static final String NAIVE_TYPE = "naive";
+
+    /** Identifier of the policy playing a uniformly random empty cell. */
+    private static final String RANDOM_TYPE = "whatever";
+
+    /** The largest number of cells a board may have, so that it fits in one {@code long}. */
+    public static final int MAX_CELLS = Long.SIZE;
+
+    /** The largest number of cells for which wins are looked up in a table (8 KB at 16 cells). */
+    private static final int TABLE_MAX_CELLS = 16;
+
+    /** The number of games advanced in lockstep by default. */
+    public static final int DEFAULT_BATCH_SIZE = 512;
+
+    /** Command-line flag seeding the random policy, followed by {@code =seed}. */
+    private static final String SEED_FLAG = "-seed=";
+
+    /** Command-line flag setting the batch size, followed by {@code =games}. */
+    private static final String BATCH_FLAG = "-batch=";
+
+    /** Command-line flag printing throughput statistics after the results. */
+    private static final String STATS_FLAG = "-stats";
+
+    /** The number of cells. */
+    private final int cells;
+
+    /** Whether each player (1, then 2) plays randomly rather than naively. */
+    private final boolean[] random = new boolean[2];
+
+    /** The masks of the windows through cell {@code c} are entries {@code windowStart[c]} to {@code windowStart[c + 1]}. */
+    private final int[] windowStart;
+
+    /** The concatenated per-cell window masks. */
+    private final long[] windowMasks;
+
+    /**
+     * One bit per bitboard of a mark, set if it fills a window, on boards of up to
+     * {@value #TABLE_MAX_CELLS} cells; {@code null} on larger boards.
+     */
+    private final long[] winTable;
+
+    /** The first half-range width of {@link #selectBit(long, int)}: the largest power of two below the cell count. */
+    private final int selectWidth;
+
+    /** The random generator of the random policy. */
+    private final SplitMix64 generator = new SplitMix64();
+
+    /** The number of games advanced in lockstep. */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** The cells holding X in each game of the batch. */
+    private long[] xBits;
+
+    /** The cells holding O in each game of the batch. */
+    private long[] oBits;
+
+    /**
+     * The indices of the running games of the batch where player 1 is X (list 0) and O (list 1).
+     * Finished games are swapped out, so that every ply only visits running games.
+     */
+    private final int[][] running = new int[2][];
+
+    /** The number of running games in each list of {@link #running}. */
+    private final int[] runningCount = new int[2];
+
+    /** The number of moves played by the last {@link #simulate(int)}. */
+    private long moves;
+
+    /**
+     * Constructs a simulator for the given configuration and policies.
+     *
+     * @param size        the board size; the board may have at most {@value #MAX_CELLS} cells.
+     * @param winStreak   the number of marks needed in a row to win.
+     * @param policyType1 the policy of player 1: {@value #NAIVE_TYPE} or {@value #RANDOM_TYPE}.
+     * @param policyType2 the policy of player 2: {@value #NAIVE_TYPE} or {@value #RANDOM_TYPE}.
+     * @throws IllegalArgumentException if the board is too large or a policy is unknown.
+     */
+    public BatchSimulator(int size, int winStreak, String policyType1, String policyType2) {
+        if (size < 1 || size * size > MAX_CELLS) {
+            throw new IllegalArgumentException("Batch simulation supports at most " + MAX_CELLS
+                    + " cells, not a board of size " + size);
+        }
+        this.cells = size * size;
+        this.random[0] = isRandom(policyType1);
+        this.random[1] = isRandom(policyType2);
+
+        WinLines lines = WinLines.of(size, winStreak);
+        windowStart = new int[cells + 1];
+        windowMasks = new long[lines.windowsEnd(cells - 1)];
+        for (int cell = 0; cell < cells; cell++) {
+            windowStart[cell + 1] = lines.windowsEnd(cell);
+            for (int i = lines.windowsStart(cell); i < lines.windowsEnd(cell); i++) {
+                int window = lines.windowAt(i);
+                for (int k = 0; k < winStreak; k++) {
+                    windowMasks[i] |= 1L << lines.cellOf(window, k);
+                }
+            }
+        }
+        selectWidth = Math.max(1, Integer.highestOneBit(cells - 1));
+        winTable = (cells <= TABLE_MAX_CELLS) ? buildWinTable() : null;
+        allocateBatch();
+    }
+
+    /**
+     * Sets the number of games advanced in lockstep.
+     *
+     * @param batchSize the batch size; rounded up to an even number, so that every batch
+     *                  holds as many rounds started by each player.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(2, batchSize + (batchSize & 1));
+        allocateBatch();
+    }
+
+    /**
+     * Makes the random policy reproducible.
+     *
+     * @param seed the seed.
+     */
+    public void setSeed(long seed) {
+        generator.setSeed(seed);
+    }
+
+    /**
+     * Plays the given number of rounds, alternating the starting player as in a {@link Tournament}:
+     * player 1 is X in even rounds, player 2 in odd rounds.
+     *
+     * @param rounds the number of rounds.
+     * @return the tally indexed by {@link Tournament#PLAYER1_WINS}, {@link Tournament#PLAYER2_WINS}
+     * and {@link Tournament#TIES}.
+     */
+    public int[] simulate(int rounds) {
+        int[] tally = new int[Tournament.TALLY_SLOTS];
+        moves = 0;
+        for (int from = 0; from < rounds; from += batchSize) {
+            playBatch(Math.min(batchSize, rounds - from), tally);
+        }
+        return tally;
+    }
+
+    /**
+     * Returns the number of moves played by the last {@link #simulate(int)}.
+     *
+     * @return the move count over all games.
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Plays one batch of games to the end. Game {@code i} of the batch is a round where
+     * player 1 is X if {@code i} is even, since batches start at even round indices.
+     *
+     * @param games the number of games, at most {@link #batchSize}.
+     * @param tally the tally to update.
+     */
+    private void playBatch(int games, int[] tally) {
+        runningCount[0] = 0;
+        runningCount[1] = 0;
+        for (int i = 0; i < games; i++) {
+            xBits[i] = 0;
+            oBits[i] = 0;
+            running[i & 1][runningCount[i & 1]++] = i;
+        }
+        for (int ply = 0; ply < cells && runningCount[0] + runningCount[1] > 0; ply++) {
+            long[] own = ((ply & 1) == 0) ? xBits : oBits;
+            long[] other = ((ply & 1) == 0) ? oBits : xBits;
+            // Player 1 is to move in the list where it is X on even plies, O on odd plies
+            int mover1 = ply & 1;
+            advance(own, other, mover1, ply, 0, tally);
+            advance(own, other, 1 - mover1, ply, 1, tally);
+        }
+    }
+
+    /**
+     * Plays one move in every running game of a list, all for the same player, and removes
+     * the games that end from the list.
+     *
+     * @param own    the bitboards of the mark to move.
+     * @param other  the bitboards of the opponent's mark.
+     * @param list   the index of the list in {@link #running}.
+     * @param ply    the number of moves already played in every running game.
+     * @param player the moving player: 0 for player 1, 1 for player 2.
+     * @param tally  the tally to update with the games that end.
+     */
+    private void advance(long[] own, long[] other, int list, int ply, int player, int[] tally) {
+        boolean lastPly = (ply == cells - 1);
+        int empty = cells - ply;
+        int[] games = running[list];
+        int count = runningCount[list];
+        for (int n = 0; n < count; n++) {
+            int i = games[n];
+            long free = ~(own[i] | other[i]);
+            int cell = random[player]
+                    // Multiply-shift maps 32 random bits to a rank in [0, empty)
+                    ? selectBit(free, (int) (((generator.nextLong() >>> 32) * empty) >>> 32))
+                    : Long.numberOfTrailingZeros(free);
+            long bits = own[i] | (1L << cell);
+            own[i] = bits;
+            boolean won = (winTable != null)
+                    ? ((winTable[(int) (bits >>> 6)] >>> bits) & 1) != 0
+                    : completesWindow(bits, cell);
+            if (won) {
+                tally[(player == 0) ? Tournament.PLAYER1_WINS : Tournament.PLAYER2_WINS]++;
+            } else if (lastPly) {
+                tally[Tournament.TIES]++;
+            } else {
+                continue;
+            }
+            games[n--] = games[--count];
+            moves += ply + 1;
+        }
+        runningCount[list] = count;
+    }
+
+    /**
+     * Checks whether a bitboard fills one of the windows through a cell.
+     *
+     * @param bits the cells of one mark, including {@code cell}.
+     * @param cell the cell just played.
+     * @return {@code true} if the move completed a window.
+     */
+    private boolean completesWindow(long bits, int cell) {
+        for (int i = windowStart[cell]; i < windowStart[cell + 1]; i++) {
+            long mask = windowMasks[i];
+            if ((bits & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the empty cell of a given rank by halving the search range with population counts,
+     * without branches: every call takes the same steps whatever the rank.
+     *
+     * @param free the empty cells, and possibly bits beyond the last cell.
+     * @param rank the number of lower empty cells to skip, less than the number of empty cells.
+     * @return the selected cell.
+     */
+    private int selectBit(long free, int rank) {
+        int cell = 0;
+        for (int width = selectWidth; width > 0; width >>= 1) {
+            int lower = Long.bitCount(free & ((1L << width) - 1));
+            // All ones if the cell lies beyond the lower half, zero otherwise
+            int beyond = (lower - rank - 1) >> 31;
+            rank -= lower & beyond;
+            free >>>= width & beyond;
+            cell += width & beyond;
+        }
+        return cell;
+    }
+
+    /**
+     * Lists which bitboards of a mark fill at least one window, so that a win check is one
+     * lookup that takes the same time whichever cell was played.
+     *
+     * @return the table, one bit per bitboard.
+     */
+    private long[] buildWinTable() {
+        int positions = 1 << cells;
+        long[] table = new long[Math.max(1, positions / Long.SIZE)];
+        for (long mask : windowMasks) {
+            // Set the bit of every superset of the window
+            int window = (int) mask;
+            int rest = (positions - 1) & ~window;
+            for (int extra = rest; ; extra = (extra - 1) & rest) {
+                int position = window | extra;
+                table[position >>> 6] |= 1L << position;
+                if (extra == 0) {
+                    break;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Allocates the per-game arrays for the current batch size.
+     */
+    private void allocateBatch() {
+        xBits = new long[batchSize];
+        oBits = new long[batchSize];
+        running[0] = new int[batchSize / 2];
+        running[1] = new int[batchSize / 2];
+    }
+
+    /**
+     * Parses a policy type.
+     *
+     * @param type {@value #NAIVE_TYPE} or {@value #RANDOM_TYPE}.
+     * @return {@code true} for the random policy.
+     * @throws IllegalArgumentException if the type is unknown.
+     */
+    private static boolean isRandom(String type) {
+        if (RANDOM_TYPE.equals(type)) {
+            return true;
+        }
+        if (NAIVE_TYPE.equals(type)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown batch policy \"" + type + "\"; expected "
+                + NAIVE_TYPE + " or " + RANDOM_TYPE);
+    }
+
+    /**
+     * Prints the command-line usage.
+     */
+    private static void printUsage() {
+        System.out.println("Usage: java BatchSimulator <rounds> <size> <winStreak> <player1Type> <player2Type>"
+                + " [-seed=seed] [-batch=games] [-stats]");
+    }
+
+    /**
+     * Simulates a tournament and prints the results in the {@link Tournament} format.
+     * <p>
+     * Example of expected arguments:
+     * <pre>
+     * java BatchSimulator [rounds] [size] [winStreak] [playerType1] [playerType2] [-seed=seed] [-batch=games] [-stats]
+     * </pre>
+     * {@code -stats} prints the throughput after the results.
+     * </p>
+     *
+     * @param args command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            printUsage();
+            return;
+        }
+        int rounds = Integer.parseInt(args[0]);
+        int size = Integer.parseInt(args[1]);
+        int winStreak = Integer.parseInt(args[2]);
+        String playerType1 = args[3];
+        String playerType2 = args[4];
+
+        BatchSimulator simulator = new BatchSimulator(size, winStreak, playerType1, playerType2);
+        boolean statsEnabled = false;
+        for (int i = 5; i < args.length; i++) {
+            if (args[i].startsWith(SEED_FLAG)) {
+                simulator.setSeed(Long.parseLong(args[i].substring(SEED_FLAG.length())));
+            } else if (args[i].startsWith(BATCH_FLAG)) {
+                simulator.setBatchSize(Integer.parseInt(args[i].substring(BATCH_FLAG.length())));
+            } else if (args[i].equals(STATS_FLAG)) {
+                statsEnabled = true;
+            } else {
+                System.out.println("Unknown argument: " + args[i]);
+                printUsage();
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        int[] tally = simulator.simulate(rounds);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("######### Results #########");
+        System.out.println("Player 1, " + playerType1 + " won: " + tally[Tournament.PLAYER1_WINS] + " rounds");
+        System.out.println("Player 2, " + playerType2 + " won: " + tally[Tournament.PLAYER2_WINS] + " rounds");
+        System.out.print("Ties: " + tally[Tournament.TIES]);
+        if (statsEnabled) {
+            System.out.println();
+            System.out.println("######### Statistics #########");
+            System.out.print(String.format(Locale.ROOT,
+                    "Games: %d (%.1f games/s), moves: %d (%.1f moves/s), average game length: %.2f moves",
+                    rounds, rounds / seconds, simulator.getMoves(), simulator.getMoves() / seconds,
+                    (rounds == 0) ? 0.0 : (double) simulator.getMoves() / rounds));
+        }
+    }
+}
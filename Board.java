@@ -1,3 +1,6 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
 /**
  * Represents the Tic-Tac-Toe game board.
  * <p>
@@ -8,50 +11,89 @@
  *
  * <p>Indexing starts at 0 for both rows and columns.</p>
  *
+ * <p>This class keeps what every board shares: the move history, the last move, the Zobrist
+ * hashes and the symmetries. How the cells themselves are stored is up to the subclasses:
+ * {@link DenseBoard} keeps bitboards and per-cell indexes for small boards, {@link SparseBoard}
+ * keeps only the occupied cells for very large ones. Use {@link BoardFactory} to get the right
+ * kind of board for a size.</p>
+ *
  * @author Naama Even-Oz
  * @see Mark
+ * @see BoardFactory
  */
-public class Board {
-
-    /** Default size for a new board (used in the no-arg constructor). */
-    private static final int DEFAULT_SIZE = 3;
+public abstract class Board {
 
     /** The smallest valid index on the board. */
     private static final int MIN_INDEX = 0;
 
-    private final int size;
-    private final Mark[][] grid;
+    /** Value returned by {@link #getLastRow()} and {@link #getLastCol()} before any move. */
+    public static final int NO_MOVE = -1;
+
+    /** The number of symmetries of a square board: four rotations, each optionally mirrored. */
+    public static final int SYMMETRY_COUNT = 8;
+
+    /** The transform that leaves the board as it is. */
+    public static final int IDENTITY = 0;
+
+    /** The length/width of the square board. */
+    protected final int size;
+
+    /** The cells of the marks on the board, in placement order; the first {@link #placedCount} are used. */
+    private int[] moves;
+
+    /** Number of marks currently placed on the board. */
+    private int placedCount;
 
     /**
-     * Default constructor.
-     * Initializes a new empty board of default size (3x3).
+     * Incremented whenever the move history changes other than by appending a move or taking
+     * back the last one, so that observers replaying the history know to start over.
      */
-    public Board() {
-        this.size = DEFAULT_SIZE;
-        this.grid = new Mark[size][size];
-        initializeBoard();
-    }
+    private int generation;
+
+    /** Zobrist hash of the current position. */
+    private long hash;
+
+    /** The Zobrist hash of the position under each transform; entry {@value #IDENTITY} equals {@link #hash}. */
+    private final long[] symmetricHashes = new long[SYMMETRY_COUNT];
+
+    /**
+     * Whether {@link #symmetricHashes} are up to date and kept so by every move. They are only
+     * computed once asked for, so that boards nobody asks skip eight key lookups per move.
+     */
+    private boolean symmetriesTracked;
+
+    /** Row of the most recently placed mark, or {@value #NO_MOVE} if none was placed yet. */
+    private int lastRow = NO_MOVE;
+
+    /** Column of the most recently placed mark, or {@value #NO_MOVE} if none was placed yet. */
+    private int lastCol = NO_MOVE;
 
     /**
-     * Constructs a new board of a given size.
+     * Constructs the shared state of a new empty board.
      *
-     * @param size The length/width of the square board.
+     * @param size            The length/width of the square board.
+     * @param historyCapacity the initial capacity of the move history; it grows as needed.
      */
-    public Board(int size) {
+    protected Board(int size, int historyCapacity) {
         this.size = size;
-        this.grid = new Mark[size][size];
-        initializeBoard();
+        this.moves = new int[Math.max(1, historyCapacity)];
     }
 
     /**
-     * Initializes all board cells to BLANK.
+     * Clears the board, so that it can be reused for a new game without allocating.
+     * <p>
+     * Afterwards the board behaves exactly like a newly constructed one of the same size,
+     * so reused and fresh boards give the same random moves for the same random sequence.
+     * </p>
      */
-    private void initializeBoard() {
-        for (int i = MIN_INDEX; i < size; i++) {
-            for (int j = MIN_INDEX; j < size; j++) {
-                grid[i][j] = Mark.BLANK;
-            }
-        }
+    public void reset() {
+        clearCells();
+        hash = 0;
+        Arrays.fill(symmetricHashes, 0);
+        placedCount = 0;
+        lastRow = NO_MOVE;
+        lastCol = NO_MOVE;
+        generation++;
     }
 
     /**
@@ -75,15 +117,267 @@ public class Board {
      * @param col  the target column index
      * @return true if the mark was successfully placed; false otherwise.
      */
-    public boolean putMark(Mark mark, int row, int col) {
-        if (!isValidPosition(row, col)) {
-            return false;
+    public abstract boolean putMark(Mark mark, int row, int col);
+
+    /**
+     * Removes the mark at the specified row and column, leaving the cell blank.
+     * <p>
+     * Intended for search-based players that try moves and take them back.
+     * The last-move coordinates are cleared, since the previous move is not tracked.
+     * </p>
+     *
+     * @param row the target row index.
+     * @param col the target column index.
+     * @return true if a mark was removed; false if the position is invalid or already blank.
+     */
+    public abstract boolean removeMark(int row, int col);
+
+    /**
+     * Returns the empty cell at the given position of the board's empty-cell index.
+     * <p>
+     * Together with {@link #emptyCount()}, this allows iterating over the empty cells only.
+     * The order depends on the kind of board.
+     * </p>
+     *
+     * @param index a position between 0 (inclusive) and {@link #emptyCount()} (exclusive).
+     * @return the cell index {@code row * size + col} of an empty cell.
+     */
+    public abstract int getEmptyCell(int index);
+
+    /**
+     * Returns the first empty cell in row-major order (top-left to bottom-right).
+     *
+     * @return the cell index {@code row * size + col} of the lowest empty cell,
+     * or {@value #NO_MOVE} if the board is full.
+     */
+    public abstract int firstEmptyCell();
+
+    /**
+     * Draws an empty cell uniformly at random.
+     *
+     * @param random the random generator to draw with.
+     * @return the cell index {@code row * size + col} of an empty cell,
+     * or {@value #NO_MOVE} if the board is full.
+     */
+    public abstract int randomEmptyCell(RandomGenerator random);
+
+    /**
+     * Retrieves the mark stored in a cell given by its index, without the bounds checks of
+     * {@link #getMark(int, int)}; meant for hot loops over {@link WinLines} windows.
+     *
+     * @param cell a valid cell index {@code row * size + col}.
+     * @return the mark in the cell.
+     */
+    public abstract Mark getMark(int cell);
+
+    /**
+     * Overwrites this board with the position of another board of the same size.
+     * <p>
+     * Boards of the same kind copy their cells directly, which is much cheaper than
+     * replaying the other board's marks one by one; boards of another kind are replayed
+     * move by move. Used by players that simulate games on a scratch board.
+     * </p>
+     *
+     * @param other the board to copy.
+     * @throws IllegalArgumentException if the boards differ in size.
+     */
+    public void copyFrom(Board other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Cannot copy a board of size " + other.size
+                    + " into a board of size " + size);
         }
-        if (grid[row][col] != Mark.BLANK) {
-            return false;
+        if (!copyCellsFrom(other)) {
+            reset();
+            for (int i = 0; i < other.placedCount; i++) {
+                int cell = other.moves[i];
+                putMark(other.getMark(cell), cell / size, cell % size);
+            }
+            return;
+        }
+        if (moves.length < other.placedCount) {
+            moves = new int[other.moves.length];
         }
-        grid[row][col] = mark;
-        return true;
+        System.arraycopy(other.moves, 0, moves, 0, other.placedCount);
+        System.arraycopy(other.symmetricHashes, 0, symmetricHashes, 0, SYMMETRY_COUNT);
+        symmetriesTracked = other.symmetriesTracked;
+        hash = other.hash;
+        placedCount = other.placedCount;
+        lastRow = other.lastRow;
+        lastCol = other.lastCol;
+        generation++;
+    }
+
+    /**
+     * Returns a number that changes whenever the move history is rewritten rather than extended:
+     * by {@link #reset()}, {@link #copyFrom(Board)}, or {@link #removeMark(int, int)} of a move
+     * other than the last one. Observers that replay {@link #getMove(int)} incrementally,
+     * such as {@link ThreatIndex}, compare it to know when to start over.
+     *
+     * @return the history generation.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the 64-bit Zobrist hash of the current position.
+     * <p>
+     * The hash is the XOR of one random key per occupied (cell, mark) pair and is updated
+     * in O(1) by {@link #putMark(Mark, int, int)} and {@link #removeMark(int, int)}.
+     * Keys are fixed per kind of board and board size, so equal positions on boards of the
+     * same kind and size always have equal hashes, across instances and runs.
+     * </p>
+     *
+     * @return the position hash; 0 for an empty board.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position as seen through a symmetry of the board.
+     * <p>
+     * Transforms 0 to 3 rotate the board by 0, 90, 180 and 270 degrees clockwise; transforms 4 to 7
+     * mirror it left to right, top to bottom, along the main diagonal and along the anti-diagonal.
+     * The first call replays the move history; from then on, all eight hashes are updated
+     * incrementally with every move, so later calls are plain reads.
+     * </p>
+     *
+     * @param transform the transform, from 0 to {@value #SYMMETRY_COUNT} - 1.
+     * @return the hash of the transformed position; the identity gives {@link #getHash()}.
+     */
+    public long getSymmetricHash(int transform) {
+        trackSymmetries();
+        return symmetricHashes[transform];
+    }
+
+    /**
+     * Returns a key shared by all eight symmetric variants of the position: the smallest of
+     * their hashes. Caches keyed by it store each position once instead of up to eight times.
+     *
+     * @return the canonical position hash.
+     */
+    public long getCanonicalHash() {
+        return symmetricHashes[getCanonicalTransform()];
+    }
+
+    /**
+     * Computes the symmetric hashes from the move history, unless they are already kept up to date,
+     * and keeps them up to date from now on.
+     */
+    private void trackSymmetries() {
+        if (symmetriesTracked) {
+            return;
+        }
+        Arrays.fill(symmetricHashes, 0);
+        for (int i = 0; i < placedCount; i++) {
+            int cell = moves[i];
+            toggleSymmetricHashes(symmetricHashes, cell, (getMark(cell) == Mark.X) ? 0 : 1);
+        }
+        symmetriesTracked = true;
+    }
+
+    /**
+     * Returns the transform that turns this position into its canonical variant, i.e. the one
+     * whose hash is {@link #getCanonicalHash()} (the lowest such transform on ties).
+     * Map moves between the two orientations with {@link #transformCell(int, int)} and
+     * {@link #inverseTransformCell(int, int)}.
+     *
+     * @return the canonical transform.
+     */
+    public int getCanonicalTransform() {
+        trackSymmetries();
+        int best = IDENTITY;
+        for (int t = 1; t < SYMMETRY_COUNT; t++) {
+            if (symmetricHashes[t] < symmetricHashes[best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Maps a cell of this board to the corresponding cell of the transformed board.
+     *
+     * @param transform the transform, from 0 to {@value #SYMMETRY_COUNT} - 1.
+     * @param cell      a cell index {@code row * size + col} of this board.
+     * @return the cell index in the transformed orientation.
+     */
+    public int transformCell(int transform, int cell) {
+        return image(size, transform, cell / size, cell % size);
+    }
+
+    /**
+     * Maps a cell of the transformed board back to this board, e.g. to play a move that
+     * a cache keyed by {@link #getCanonicalHash()} stored in canonical orientation.
+     *
+     * @param transform the transform, from 0 to {@value #SYMMETRY_COUNT} - 1.
+     * @param cell      a cell index in the transformed orientation.
+     * @return the cell index {@code row * size + col} of this board.
+     */
+    public int inverseTransformCell(int transform, int cell) {
+        // Rotations by 90 and 270 degrees undo each other; every other transform is its own inverse
+        int inverse = (transform == 1) ? 3 : (transform == 3) ? 1 : transform;
+        return image(size, inverse, cell / size, cell % size);
+    }
+
+    /**
+     * Returns the number of marks on the board, i.e. the length of the move history.
+     *
+     * @return the number of placed marks.
+     */
+    public int getMoveCount() {
+        return placedCount;
+    }
+
+    /**
+     * Returns a move from the history of the marks currently on the board.
+     * <p>
+     * Moves are kept in placement order. Removing a mark drops it from the history,
+     * so observers can catch up with a board by replaying only the moves they have not seen.
+     * </p>
+     *
+     * @param index a position between 0 (inclusive) and {@link #getMoveCount()} (exclusive).
+     * @return the cell index {@code row * size + col} of the move.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Checks whether every cell of the board holds a mark.
+     *
+     * @return true if no empty cells remain, false otherwise.
+     */
+    public boolean isFull() {
+        return placedCount == size * size;
+    }
+
+    /**
+     * Returns the number of empty cells, i.e. the number of moves remaining.
+     *
+     * @return the number of cells still holding {@link Mark#BLANK}.
+     */
+    public int emptyCount() {
+        return size * size - placedCount;
+    }
+
+    /**
+     * Returns the row of the most recently placed mark.
+     *
+     * @return the row index, or {@value #NO_MOVE} if the board is still empty.
+     */
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    /**
+     * Returns the column of the most recently placed mark.
+     *
+     * @return the column index, or {@value #NO_MOVE} if the board is still empty.
+     */
+    public int getLastCol() {
+        return lastCol;
     }
 
     /**
@@ -95,12 +389,164 @@ public class Board {
      * @return the mark at the given cell, or Mark.BLANK if out of bounds.
      */
     public Mark getMark(int row, int col) {
-        if (!isValidPosition(row, col)) {
-            return Mark.BLANK;
+        return isValidPosition(row, col) ? getMark(row * size + col) : Mark.BLANK;
+    }
+
+    /**
+     * Checks whether the mark at the given cell is part of a run of at least
+     * {@code winStreak} identical marks along a row, column or diagonal.
+     * <p>
+     * Only the four lines through the cell are probed, counting outward in both
+     * directions, so the cost is O(winStreak) regardless of the board size.
+     * </p>
+     *
+     * @param row       the row index of a non-blank cell.
+     * @param col       the column index of a non-blank cell.
+     * @param winStreak the number of consecutive marks required.
+     * @return true if the cell completes a streak, false otherwise (including blank cells).
+     */
+    public boolean completesStreak(int row, int col, int winStreak) {
+        Mark mark = getMark(row, col);
+        if (mark == Mark.BLANK) {
+            return false;
+        }
+        return countLine(mark, row, col, 1, 0, winStreak) >= winStreak || // vertical
+                countLine(mark, row, col, 0, 1, winStreak) >= winStreak || // horizontal
+                countLine(mark, row, col, 1, -1, winStreak) >= winStreak || // diagonal ↙
+                countLine(mark, row, col, 1, 1, winStreak) >= winStreak;    // diagonal ↘
+    }
+
+    /**
+     * Checks whether the given mark has {@code winStreak} consecutive cells in any row,
+     * column or diagonal, by probing the lines through each of its marks.
+     * <p>
+     * Takes time proportional to the number of marks; {@link DenseBoard} overrides it
+     * with a bit-parallel check.
+     * </p>
+     *
+     * @param mark      the mark to check (X or O).
+     * @param winStreak the number of consecutive marks required.
+     * @return true if the mark has a winning sequence, false otherwise.
+     */
+    public boolean hasStreak(Mark mark, int winStreak) {
+        if (winStreak < 1 || winStreak > size) {
+            return false;
+        }
+        for (int i = 0; i < placedCount; i++) {
+            int cell = moves[i];
+            if (getMark(cell) == mark && completesStreak(cell / size, cell % size, winStreak)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a mark that a subclass has just stored on an empty cell: appends it to the
+     * move history, updates the hashes and remembers it as the last move.
+     *
+     * @param mark X or O.
+     * @param row  the row of the cell.
+     * @param col  the column of the cell.
+     */
+    protected final void recordPut(Mark mark, int row, int col) {
+        int cell = row * size + col;
+        int m = (mark == Mark.X) ? 0 : 1;
+        hash ^= zobristKey(cell, m);
+        if (symmetriesTracked) {
+            toggleSymmetricHashes(symmetricHashes, cell, m);
+        }
+        if (placedCount == moves.length) {
+            moves = Arrays.copyOf(moves, 2 * moves.length);
+        }
+        moves[placedCount] = cell;
+        setMovePosition(cell, placedCount);
+        placedCount++;
+        lastRow = row;
+        lastCol = col;
+    }
+
+    /**
+     * Records a mark that a subclass is about to clear: drops it from the move history and
+     * updates the hashes. Must be called while {@link #movePosition(int)} still knows the cell.
+     *
+     * @param mark the mark on the cell, X or O.
+     * @param cell the cell index.
+     */
+    protected final void recordRemove(Mark mark, int cell) {
+        int m = (mark == Mark.X) ? 0 : 1;
+        hash ^= zobristKey(cell, m);
+        if (symmetriesTracked) {
+            toggleSymmetricHashes(symmetricHashes, cell, m);
+        }
+        int position = movePosition(cell);
+        // Close the gap in the move history (nothing to shift when undoing the last move)
+        if (position != placedCount - 1) {
+            generation++;
+        }
+        for (int i = position + 1; i < placedCount; i++) {
+            moves[i - 1] = moves[i];
+            setMovePosition(moves[i], i - 1);
         }
-        return grid[row][col];
+        placedCount--;
+        lastRow = NO_MOVE;
+        lastCol = NO_MOVE;
     }
 
+    /**
+     * XORs the keys of a mark on a cell into the hashes of all transformed positions.
+     * Subclasses with a faster source of the transformed keys may override it.
+     *
+     * @param hashes the eight symmetric hashes, updated in place.
+     * @param cell   the cell index.
+     * @param m      0 for X, 1 for O.
+     */
+    protected void toggleSymmetricHashes(long[] hashes, int cell, int m) {
+        int row = cell / size;
+        int col = cell % size;
+        for (int t = 0; t < SYMMETRY_COUNT; t++) {
+            hashes[t] ^= zobristKey(image(size, t, row, col), m);
+        }
+    }
+
+    /**
+     * Returns the Zobrist key of a mark on a cell.
+     *
+     * @param cell the cell index.
+     * @param m    0 for X, 1 for O.
+     * @return the key.
+     */
+    protected abstract long zobristKey(int cell, int m);
+
+    /**
+     * Returns the position of an occupied cell in the move history.
+     *
+     * @param cell an occupied cell index.
+     * @return its position in {@link #getMove(int)} order.
+     */
+    protected abstract int movePosition(int cell);
+
+    /**
+     * Stores the position of an occupied cell in the move history.
+     *
+     * @param cell     an occupied cell index.
+     * @param position its position in {@link #getMove(int)} order.
+     */
+    protected abstract void setMovePosition(int cell, int position);
+
+    /**
+     * Clears the cells, for {@link #reset()}.
+     */
+    protected abstract void clearCells();
+
+    /**
+     * Copies the cells of a board of the same kind and size, for {@link #copyFrom(Board)}.
+     *
+     * @param other the board to copy.
+     * @return false, leaving this board unchanged, if the other board is of another kind.
+     */
+    protected abstract boolean copyCellsFrom(Board other);
+
     /**
      * Checks if a position is valid (inside board bounds).
      *
@@ -108,7 +554,61 @@ public class Board {
      * @param col the column index.
      * @return true if the position is within bounds, false otherwise.
      */
-    private boolean isValidPosition(int row, int col) {
+    protected final boolean isValidPosition(int row, int col) {
         return row >= MIN_INDEX && row < size && col >= MIN_INDEX && col < size;
     }
+
+    /**
+     * Maps a cell to its image under a transform (see {@link #getSymmetricHash(int)}).
+     *
+     * @param size      the board size.
+     * @param transform the transform, from 0 to {@value #SYMMETRY_COUNT} - 1.
+     * @param row       the row of the cell.
+     * @param col       the column of the cell.
+     * @return the cell index of the image.
+     */
+    static int image(int size, int transform, int row, int col) {
+        int last = size - 1;
+        switch (transform) {
+            case 1:
+                return col * size + (last - row);          // rotate 90
+            case 2:
+                return (last - row) * size + (last - col); // rotate 180
+            case 3:
+                return (last - col) * size + row;          // rotate 270
+            case 4:
+                return row * size + (last - col);          // mirror left to right
+            case 5:
+                return (last - row) * size + col;          // mirror top to bottom
+            case 6:
+                return col * size + row;                   // main diagonal
+            case 7:
+                return (last - col) * size + (last - row); // anti-diagonal
+            default:
+                return row * size + col;                   // identity
+        }
+    }
+
+    /**
+     * Counts the length of the run of {@code mark} through the given cell along one axis,
+     * looking both forward and backward from it, up to {@code limit} cells each way.
+     *
+     * @param mark  the mark to count.
+     * @param row   the row of a cell holding {@code mark}.
+     * @param col   the column of a cell holding {@code mark}.
+     * @param dr    the row direction increment.
+     * @param dc    the column direction increment.
+     * @param limit the streak length of interest.
+     * @return the number of consecutive marks on the line, including the given cell.
+     */
+    private int countLine(Mark mark, int row, int col, int dr, int dc, int limit) {
+        int count = 1;
+        for (int i = 1; i < limit && getMark(row + i * dr, col + i * dc) == mark; i++) {
+            count++;
+        }
+        for (int i = 1; i < limit && getMark(row - i * dr, col - i * dc) == mark; i++) {
+            count++;
+        }
+        return count;
+    }
 }
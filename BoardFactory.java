@@ -0,0 +1,47 @@
+/**
+ * A factory class that creates the {@link Board} best suited to a board size.
+ * <p>
+ * This class follows the <b>Factory Design Pattern</b>, like {@link PlayerFactory} and
+ * {@link RendererFactory}: callers ask for a board of a given size and do not need to know
+ * how its cells are stored.
+ * </p>
+ *
+ * <p>Boards smaller than {@value #SPARSE_MIN_SIZE}x{@value #SPARSE_MIN_SIZE} are
+ * {@link DenseBoard} instances, whose bitboards make every operation O(1). Larger boards are
+ * {@link SparseBoard} instances, whose memory and per-move work grow with the number of
+ * moves rather than with the board area.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Board
+ * @see DenseBoard
+ * @see SparseBoard
+ */
+public class BoardFactory {
+
+    /** The smallest board size that gets a {@link SparseBoard}. */
+    public static final int SPARSE_MIN_SIZE = 128;
+
+    /** Default constructor for BoardFactory. */
+    public BoardFactory() {}
+
+    /**
+     * Builds an empty board of the given size.
+     *
+     * @param size the length/width of the square board.
+     * @return a {@link DenseBoard} for small sizes, a {@link SparseBoard} for large ones.
+     */
+    public Board buildBoard(int size) {
+        return isSparse(size) ? new SparseBoard(size) : new DenseBoard(size);
+    }
+
+    /**
+     * Checks whether boards of the given size are {@link SparseBoard} instances, on which
+     * anything that allocates state per cell or per window defeats the purpose.
+     *
+     * @param size the length/width of the square board.
+     * @return {@code true} if {@link #buildBoard(int)} builds a sparse board.
+     */
+    public static boolean isSparse(int size) {
+        return size >= SPARSE_MIN_SIZE;
+    }
+}
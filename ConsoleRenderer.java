@@ -1,4 +1,5 @@
-
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -38,7 +39,19 @@ public class ConsoleRenderer implements Renderer {
                     "         "}
     );
 
-    private final char[][] buffer;// = new char[BUFFER_ROWS][BUFFER_COLS];
+    /** The encoded drawing of each mark, indexed by {@link Mark#ordinal()}, then by line. */
+    private static final byte[][][] ENCODED_MARKS = encodeMarks();
+
+    private final int size;
+
+    /** The whole frame, encoded once and updated in place: every buffer row plus line separators. */
+    private final byte[] frame;
+
+    /** The length in bytes of one encoded buffer row, including its line separator. */
+    private final int lineLength;
+
+    /** The mark currently drawn in each cell of {@link #frame}, in row-major order. */
+    private final Mark[] drawn;
 
     /**
      * Initializes the renderer.
@@ -46,7 +59,7 @@ public class ConsoleRenderer implements Renderer {
     public ConsoleRenderer(int size) {
         int bufferRows = size * ROWS_PER_MARK + (size - 1) + NUM_ROWS_BEFORE_BOARD;
         int bufferCols = size * COLS_PER_MARK + (size - 1) + NUM_COLS_BEFORE_BOARD;
-        this.buffer = new char[bufferRows][bufferCols];
+        char[][] buffer = new char[bufferRows][bufferCols];
 
         if (size > 9 || size < 2) {
             String errorMsg = "part_2.Board size must be in the range [2, 9]";
@@ -81,36 +94,67 @@ public class ConsoleRenderer implements Renderer {
             buffer[row][NUM_COLS_BEFORE_BOARD / 2 - 1] = index++;
 //			buffer[row][NUM_COLS_BEFORE_BOARD/2] = ' ';//'0';
         }
+
+        //encode the frame once: every row followed by a line separator, plus a final empty line
+        byte[] separator = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+        this.size = size;
+        this.lineLength = bufferCols + separator.length;
+        this.frame = new byte[bufferRows * lineLength + separator.length];
+        for (int i = 0; i < bufferRows; i++) {
+            byte[] line = new String(buffer[i]).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(line, 0, frame, i * lineLength, bufferCols);
+            System.arraycopy(separator, 0, frame, i * lineLength + bufferCols, separator.length);
+        }
+        System.arraycopy(separator, 0, frame, bufferRows * lineLength, separator.length);
+
+        //the buffer starts out blank, which is exactly how a BLANK mark is drawn
+        this.drawn = new Mark[size * size];
+        Arrays.fill(drawn, Mark.BLANK);
     }
 
     /**
      * Prints the supplied board to the console.
+     * <p>
+     * Only the cells whose mark changed since the previous frame are redrawn,
+     * and the whole frame is written to the console in a single call.
+     * </p>
      *
      * @param board the board to print.
      */
     @Override
     public void renderBoard(Board board) {
-        for (int i = 0; i < board.getSize(); i++) {
-            for (int j = 0; j < board.getSize(); j++) {
-                drawMarkInBuffer(NUM_ROWS_BEFORE_BOARD + i * (ROWS_PER_MARK + 1),
-                        NUM_COLS_BEFORE_BOARD + j * (COLS_PER_MARK + 1), board.getMark(i, j));
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Mark mark = board.getMark(i, j);
+                if (drawn[i * size + j] != mark) {
+                    drawn[i * size + j] = mark;
+                    drawMarkInBuffer(NUM_ROWS_BEFORE_BOARD + i * (ROWS_PER_MARK + 1),
+                            NUM_COLS_BEFORE_BOARD + j * (COLS_PER_MARK + 1), mark);
+                }
             }
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            for (int j = 0; j < buffer[i].length; j++)
-                System.out.print(buffer[i][j]);
-            System.out.println();
-        }
-        System.out.println();
+        System.out.write(frame, 0, frame.length);
+        System.out.flush();
     }
 
     private void drawMarkInBuffer(int rowStart, int colStart, Mark mark) {
-        String[] markLines = MARKS_DRAWINGS.get(mark);
+        byte[][] markLines = ENCODED_MARKS[mark.ordinal()];
         for (int i = 0; i < markLines.length; i++) {
-            for (int j = 0; j < markLines[i].length(); j++) {
-                buffer[rowStart + i][colStart + j] = markLines[i].charAt(j);
+            System.arraycopy(markLines[i], 0, frame, (rowStart + i) * lineLength + colStart, markLines[i].length);
+        }
+    }
+
+    private static byte[][][] encodeMarks() {
+        Mark[] marks = Mark.values();
+        byte[][][] encoded = new byte[marks.length][][];
+        for (Mark mark : marks) {
+            String[] markLines = MARKS_DRAWINGS.get(mark);
+            encoded[mark.ordinal()] = new byte[markLines.length][];
+            for (int i = 0; i < markLines.length; i++) {
+                encoded[mark.ordinal()][i] = markLines[i].getBytes(StandardCharsets.US_ASCII);
             }
         }
+        return encoded;
     }
 }
@@ -0,0 +1,473 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * A board that stores every cell, for small and medium boards.
+ * <p>
+ * Cells are stored as bitboards: one bit per cell for each mark, packed row-major
+ * (cell index {@code row * size + col}) into an array of {@code long} words.
+ * Boards up to 8x8 fit in a single word per mark; larger boards use as many words as needed.
+ * An index of the empty cells and shared per-size key tables make every operation O(1),
+ * at the price of memory that grows with the board area.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see Board
+ * @see BoardFactory
+ */
+public class DenseBoard extends Board {
+
+    /** Default size for a new board (used in the no-arg constructor). */
+    private static final int DEFAULT_SIZE = 3;
+
+    /** log2 of the number of bits in a bitboard word. */
+    private static final int WORD_SHIFT = 6;
+
+    /** Number of bits in a bitboard word. */
+    private static final int WORD_BITS = 1 << WORD_SHIFT;
+
+    /** Seed of the Zobrist key tables, fixed so that hashes are stable across runs. */
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+    /** Per-size Zobrist key tables, shared across boards: two keys (X, O) per cell. */
+    private static final Map<Integer, long[]> ZOBRIST_KEYS = new ConcurrentHashMap<>();
+
+    /** Per (size, winStreak) start masks for the four line directions, shared across boards. */
+    private static final Map<Long, long[][]> STREAK_MASKS = new ConcurrentHashMap<>();
+
+    /** Per-size Zobrist keys of the transformed cells (see {@link #symmetricKeys(int)}). */
+    private static final Map<Integer, long[]> SYMMETRIC_KEYS = new ConcurrentHashMap<>();
+
+    /** Bitboard of the cells holding X. */
+    private final long[] xBits;
+
+    /** Bitboard of the cells holding O. */
+    private final long[] oBits;
+
+    /** Scratch words used by multi-word streak checks. */
+    private final long[] scratch;
+
+    /** This board size's Zobrist key table (see {@link #zobristKeys(int)}). */
+    private final long[] zobrist;
+
+    /** This board size's Zobrist keys of transformed cells. */
+    private final long[] symmetricKeys;
+
+    /**
+     * The cell indices of the board, empty cells first: the first {@link #emptyCount()} entries
+     * are exactly the empty cells, in no particular order.
+     */
+    private final int[] emptyCells;
+
+    /** For each cell index, its position in {@link #emptyCells}. */
+    private final int[] emptyPositions;
+
+    /** For each occupied cell, its position in the move history. */
+    private final int[] movePositions;
+
+    /** Lowest bitboard word that may still contain an empty cell (see {@link #firstEmptyCell()}). */
+    private int firstFreeWord;
+
+    /** Cell index distance between neighbours: horizontal, vertical, diagonal ↘, diagonal ↙. */
+    private final int[] strides;
+
+    /**
+     * Default constructor.
+     * Initializes a new empty board of default size (3x3).
+     */
+    public DenseBoard() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructs a new board of a given size.
+     *
+     * @param size The length/width of the square board.
+     */
+    public DenseBoard(int size) {
+        super(size, size * size);
+        int cells = size * size;
+        int words = (cells + WORD_BITS - 1) >>> WORD_SHIFT;
+        this.xBits = new long[words];
+        this.oBits = new long[words];
+        this.scratch = new long[words];
+        this.strides = new int[]{1, size, size + 1, size - 1};
+        this.zobrist = zobristKeys(size);
+        this.symmetricKeys = symmetricKeys(size);
+        this.emptyCells = new int[cells];
+        this.emptyPositions = new int[cells];
+        this.movePositions = new int[cells];
+        resetEmptyIndex();
+    }
+
+    /**
+     * Clears the bitboards and puts the empty-cell index back in the order of a new board,
+     * so reused and fresh boards give the same random moves for the same random sequence.
+     */
+    @Override
+    protected void clearCells() {
+        Arrays.fill(xBits, 0);
+        Arrays.fill(oBits, 0);
+        resetEmptyIndex();
+        firstFreeWord = 0;
+    }
+
+    /**
+     * Puts every cell back into the empty-cell index, in cell order.
+     */
+    private void resetEmptyIndex() {
+        for (int cell = 0; cell < emptyCells.length; cell++) {
+            emptyCells[cell] = cell;
+            emptyPositions[cell] = cell;
+        }
+    }
+
+    @Override
+    public boolean putMark(Mark mark, int row, int col) {
+        if (!isValidPosition(row, col)) {
+            return false;
+        }
+        int cell = row * size + col;
+        int word = cell >>> WORD_SHIFT;
+        long bit = 1L << cell;
+        if (((xBits[word] | oBits[word]) & bit) != 0) {
+            return false;
+        }
+        if (mark == Mark.X) {
+            xBits[word] |= bit;
+        } else if (mark == Mark.O) {
+            oBits[word] |= bit;
+        } else {
+            return false;
+        }
+        // Swap the cell out of the empty prefix of emptyCells
+        swapEmptyCells(emptyPositions[cell], emptyCount() - 1);
+        recordPut(mark, row, col);
+        return true;
+    }
+
+    @Override
+    public boolean removeMark(int row, int col) {
+        if (!isValidPosition(row, col)) {
+            return false;
+        }
+        int cell = row * size + col;
+        int word = cell >>> WORD_SHIFT;
+        long bit = 1L << cell;
+        if (((xBits[word] | oBits[word]) & bit) == 0) {
+            return false;
+        }
+        recordRemove(((xBits[word] & bit) != 0) ? Mark.X : Mark.O, cell);
+        xBits[word] &= ~bit;
+        oBits[word] &= ~bit;
+        // Swap the cell back into the empty prefix of emptyCells (recordRemove took it off the count)
+        swapEmptyCells(emptyPositions[cell], emptyCount() - 1);
+        firstFreeWord = Math.min(firstFreeWord, word);
+        return true;
+    }
+
+    /**
+     * Swaps two entries of {@link #emptyCells}, keeping {@link #emptyPositions} in sync.
+     *
+     * @param i the first position.
+     * @param j the second position.
+     */
+    private void swapEmptyCells(int i, int j) {
+        int a = emptyCells[i];
+        int b = emptyCells[j];
+        emptyCells[i] = b;
+        emptyCells[j] = a;
+        emptyPositions[b] = i;
+        emptyPositions[a] = j;
+    }
+
+    /**
+     * Returns the empty cell at the given position of the board's empty-cell index.
+     * <p>
+     * The order is unspecified and changes as marks are placed.
+     * </p>
+     *
+     * @param index a position between 0 (inclusive) and {@link #emptyCount()} (exclusive).
+     * @return the cell index {@code row * size + col} of an empty cell.
+     */
+    @Override
+    public int getEmptyCell(int index) {
+        return emptyCells[index];
+    }
+
+    /**
+     * Returns the first empty cell in row-major order (top-left to bottom-right).
+     * <p>
+     * Found with a bit scan ({@link Long#numberOfTrailingZeros(long)}) over the occupancy
+     * bitboard. A cursor skips the words already known to be full, so repeated calls
+     * during a game cost amortized O(1).
+     * </p>
+     *
+     * @return the cell index {@code row * size + col} of the lowest empty cell,
+     * or {@value Board#NO_MOVE} if the board is full.
+     */
+    @Override
+    public int firstEmptyCell() {
+        int cells = size * size;
+        for (int w = firstFreeWord; w < xBits.length; w++) {
+            long free = ~(xBits[w] | oBits[w]);
+            if (free != 0) {
+                int cell = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(free);
+                return (cell < cells) ? cell : NO_MOVE;
+            }
+            firstFreeWord = w + 1;
+        }
+        return NO_MOVE;
+    }
+
+    /**
+     * Draws an empty cell uniformly at random, in constant time.
+     *
+     * @param random the random generator to draw with.
+     * @return the cell index {@code row * size + col} of an empty cell,
+     * or {@value Board#NO_MOVE} if the board is full.
+     */
+    @Override
+    public int randomEmptyCell(RandomGenerator random) {
+        int empty = emptyCount();
+        if (empty == 0) {
+            return NO_MOVE;
+        }
+        return emptyCells[random.nextInt(empty)];
+    }
+
+    /**
+     * Copies the underlying bitboards and indexes of another dense board.
+     *
+     * @param other the board to copy.
+     * @return false if the other board is not a dense board.
+     */
+    @Override
+    protected boolean copyCellsFrom(Board other) {
+        if (!(other instanceof DenseBoard)) {
+            return false;
+        }
+        DenseBoard dense = (DenseBoard) other;
+        System.arraycopy(dense.xBits, 0, xBits, 0, xBits.length);
+        System.arraycopy(dense.oBits, 0, oBits, 0, oBits.length);
+        System.arraycopy(dense.emptyCells, 0, emptyCells, 0, emptyCells.length);
+        System.arraycopy(dense.emptyPositions, 0, emptyPositions, 0, emptyPositions.length);
+        System.arraycopy(dense.movePositions, 0, movePositions, 0, movePositions.length);
+        firstFreeWord = dense.firstFreeWord;
+        return true;
+    }
+
+    @Override
+    public Mark getMark(int cell) {
+        int word = cell >>> WORD_SHIFT;
+        long bit = 1L << cell;
+        if ((xBits[word] & bit) != 0) {
+            return Mark.X;
+        }
+        return ((oBits[word] & bit) != 0) ? Mark.O : Mark.BLANK;
+    }
+
+    /**
+     * Checks whether the given mark has {@code winStreak} consecutive cells
+     * in any row, column or diagonal.
+     * <p>
+     * The check is bit-parallel: for each direction the mark's bitboard is shifted by
+     * the direction's cell stride and AND-ed with itself {@code winStreak - 1} times.
+     * A precomputed start mask keeps only the cells from which a full streak fits on the board,
+     * so shifted bits never wrap across rows.
+     * </p>
+     *
+     * @param mark      the mark to check (X or O).
+     * @param winStreak the number of consecutive marks required.
+     * @return true if the mark has a winning sequence, false otherwise.
+     */
+    @Override
+    public boolean hasStreak(Mark mark, int winStreak) {
+        long[] bits = (mark == Mark.X) ? xBits : (mark == Mark.O) ? oBits : null;
+        if (bits == null || winStreak < 1 || winStreak > size) {
+            return false;
+        }
+        long[][] masks = streakMasks(size, winStreak);
+        for (int d = 0; d < strides.length; d++) {
+            if (hasStreakInDirection(bits, masks[d], strides[d], winStreak)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected long zobristKey(int cell, int m) {
+        return zobrist[2 * cell + m];
+    }
+
+    /**
+     * Reads the eight transformed keys from one contiguous run of {@link #symmetricKeys}.
+     */
+    @Override
+    protected void toggleSymmetricHashes(long[] hashes, int cell, int m) {
+        int base = (2 * cell + m) * SYMMETRY_COUNT;
+        for (int t = 0; t < SYMMETRY_COUNT; t++) {
+            hashes[t] ^= symmetricKeys[base + t];
+        }
+    }
+
+    @Override
+    protected int movePosition(int cell) {
+        return movePositions[cell];
+    }
+
+    @Override
+    protected void setMovePosition(int cell, int position) {
+        movePositions[cell] = position;
+    }
+
+    /**
+     * Checks a single direction of {@link #hasStreak(Mark, int)}.
+     *
+     * @param bits      the mark's bitboard.
+     * @param startMask the cells from which a streak in this direction fits on the board.
+     * @param stride    the cell index distance between consecutive cells of a line.
+     * @param winStreak the number of consecutive marks required.
+     * @return true if a streak exists in this direction.
+     */
+    private boolean hasStreakInDirection(long[] bits, long[] startMask, int stride, int winStreak) {
+        if (bits.length == 1) {
+            long acc = bits[0] & startMask[0];
+            for (int k = 1; k < winStreak && acc != 0; k++) {
+                int shift = k * stride;
+                acc &= (shift < WORD_BITS) ? bits[0] >>> shift : 0L;
+            }
+            return acc != 0;
+        }
+
+        long any = 0;
+        for (int w = 0; w < bits.length; w++) {
+            scratch[w] = bits[w] & startMask[w];
+            any |= scratch[w];
+        }
+        for (int k = 1; k < winStreak && any != 0; k++) {
+            any = andShiftedRight(scratch, bits, k * stride);
+        }
+        return any != 0;
+    }
+
+    /**
+     * AND-s {@code acc} in place with {@code bits} shifted right by {@code shift} bits,
+     * treating both arrays as one little-endian multi-word integer.
+     *
+     * @param acc   the accumulator, updated in place.
+     * @param bits  the bitboard to shift.
+     * @param shift the number of bits to shift by.
+     * @return the OR of all resulting words (zero iff the accumulator is empty).
+     */
+    private static long andShiftedRight(long[] acc, long[] bits, int shift) {
+        int wordShift = shift >>> WORD_SHIFT;
+        int bitShift = shift & (WORD_BITS - 1);
+        long any = 0;
+        for (int w = 0; w < acc.length; w++) {
+            int src = w + wordShift;
+            long shifted = 0;
+            if (src < bits.length) {
+                shifted = bits[src] >>> bitShift;
+                if (bitShift != 0 && src + 1 < bits.length) {
+                    shifted |= bits[src + 1] << (WORD_BITS - bitShift);
+                }
+            }
+            acc[w] &= shifted;
+            any |= acc[w];
+        }
+        return any;
+    }
+
+    /**
+     * Returns the shared Zobrist key table for the given board size,
+     * holding the keys of X and O for each cell at indices {@code 2 * cell} and {@code 2 * cell + 1}.
+     *
+     * @param size the board size.
+     * @return the key table.
+     */
+    private static long[] zobristKeys(int size) {
+        return ZOBRIST_KEYS.computeIfAbsent(size, s -> {
+            SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + s);
+            long[] keys = new long[2 * s * s];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Returns the shared Zobrist keys of transformed cells for the given board size:
+     * entry {@code (2 * cell + m) * SYMMETRY_COUNT + t} is the key of mark {@code m} (0 for X,
+     * 1 for O) on the image of {@code cell} under transform {@code t}, so that one move updates
+     * all eight symmetric hashes from a single contiguous run of keys.
+     *
+     * @param size the board size.
+     * @return the key table.
+     */
+    private static long[] symmetricKeys(int size) {
+        return SYMMETRIC_KEYS.computeIfAbsent(size, s -> {
+            long[] keys = zobristKeys(s);
+            long[] result = new long[keys.length * SYMMETRY_COUNT];
+            for (int key = 0; key < keys.length; key++) {
+                int cell = key / 2;
+                int mark = key % 2;
+                for (int t = 0; t < SYMMETRY_COUNT; t++) {
+                    result[key * SYMMETRY_COUNT + t] = keys[2 * image(s, t, cell / s, cell % s) + mark];
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Returns the cached start masks of the horizontal, vertical, diagonal and
+     * anti-diagonal directions for the given size and streak length.
+     *
+     * @param size      the board size.
+     * @param winStreak the streak length.
+     * @return four bitboards, one per direction.
+     */
+    private static long[][] streakMasks(int size, int winStreak) {
+        long key = ((long) size << 32) | winStreak;
+        return STREAK_MASKS.computeIfAbsent(key, k -> buildStreakMasks(size, winStreak));
+    }
+
+    /**
+     * Builds the start masks returned by {@link #streakMasks(int, int)}.
+     *
+     * @param size      the board size.
+     * @param winStreak the streak length.
+     * @return four bitboards, one per direction.
+     */
+    private static long[][] buildStreakMasks(int size, int winStreak) {
+        int words = (size * size + WORD_BITS - 1) >>> WORD_SHIFT;
+        long[][] masks = new long[4][words];
+        int last = size - winStreak;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                long bit = 1L << cell;
+                int word = cell >>> WORD_SHIFT;
+                if (col <= last) {
+                    masks[0][word] |= bit; // horizontal
+                }
+                if (row <= last) {
+                    masks[1][word] |= bit; // vertical
+                }
+                if (row <= last && col <= last) {
+                    masks[2][word] |= bit; // diagonal ↘
+                }
+                if (row <= last && col >= winStreak - 1) {
+                    masks[3][word] |= bit; // diagonal ↙
+                }
+            }
+        }
+        return masks;
+    }
+}
@@ -37,6 +37,18 @@ public class Game {
     /** The number of consecutive marks required to win. */
     private int winStreak;
 
+    /** Follows the board's windows to detect early draws, or {@code null} if early draws are off. */
+    private ThreatIndex windows;
+
+    /** The number of moves before which no early draw is possible, so {@link #windows} is not synced. */
+    private int drawCheckStart;
+
+    /** Receives the move latencies and game length, or {@code null} if metrics are off. */
+    private MetricsRecorder metrics;
+
+    /** The {@link MetricsRecorder} player index of the X player. */
+    private int playerXIndex = MetricsRecorder.PLAYER1;
+
     /**
      * Constructs a new {@code Game} instance using default board settings.
      * <p>
@@ -65,7 +77,23 @@ public class Game {
         this.playerO = playerO;
         this.winStreak = winStreak;
         this.renderer = renderer;
-        this.board = new Board(size);
+        this.board = new BoardFactory().buildBoard(size);
+    }
+
+    /**
+     * Prepares this game for another round on the same board size and win streak,
+     * clearing the board instead of allocating a new one.
+     * <p>
+     * The renderer and the metrics recorder are kept.
+     * </p>
+     *
+     * @param playerX the player using mark X in the next round.
+     * @param playerO the player using mark O in the next round.
+     */
+    public void reset(Player playerX, Player playerO) {
+        this.playerX = playerX;
+        this.playerO = playerO;
+        board.reset();
     }
 
     /**
@@ -87,10 +115,58 @@ public class Game {
     }
 
     /**
-     * Runs the game until one player wins or the board is full.
+     * Returns the game board, e.g. to record its move history once the game is over.
+     *
+     * @return the board.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Times every move of this game and reports it, with the game length, to a recorder.
+     *
+     * @param metrics      the recorder, or {@code null} to turn metrics off.
+     * @param playerXIndex the recorder's index ({@link MetricsRecorder#PLAYER1} or
+     *                     {@link MetricsRecorder#PLAYER2}) of the player using mark X.
+     */
+    public void setMetrics(MetricsRecorder metrics, int playerXIndex) {
+        this.metrics = metrics;
+        this.playerXIndex = playerXIndex;
+    }
+
+    /**
+     * Turns early draw detection on or off (off by default).
+     * <p>
+     * When on, {@link #run()} ends the game as a tie as soon as neither player can complete a
+     * window any more, instead of playing on until the board is full. This shortens drawn games
+     * but costs an index update per move, so it only pays off when many games are drawn.
+     * </p>
+     *
+     * @param earlyDraw whether to end hopeless games early.
+     * @throws IllegalArgumentException if turned on for a {@link SparseBoard}, since the index
+     *                                  grows with the board area.
+     */
+    public void setEarlyDraw(boolean earlyDraw) {
+        if (earlyDraw && board instanceof SparseBoard) {
+            throw new IllegalArgumentException("Early draws are not supported on sparse boards of size "
+                    + board.getSize());
+        }
+        if (!earlyDraw) {
+            windows = null;
+        } else if (windows == null) {
+            windows = new ThreatIndex(board.getSize(), winStreak);
+            drawCheckStart = firstPossibleDraw(board.getSize(), winStreak);
+        }
+    }
+
+    /**
+     * Runs the game until one player wins or the game is drawn.
      * <p>
      * Alternates turns between {@link Player X} and {@link Player O},
      * renders the board after each move, and returns the winner mark.
+     * The game is drawn when the board is full, or, with {@link #setEarlyDraw(boolean) early draws}
+     * on, as soon as neither player can complete any window of {@code winStreak} cells any more.
      * </p>
      *
      * @return {@link Mark#X} or {@link Mark#O} if a player wins,
@@ -100,20 +176,23 @@ public class Game {
         Mark current = Mark.X;
 
         while (true) {
-            if (current == Mark.X) {
-                playerX.playTurn(board, Mark.X);
+            if (metrics == null) {
+                playTurn(current);
             } else {
-                playerO.playTurn(board, Mark.O);
+                long start = System.nanoTime();
+                playTurn(current);
+                metrics.recordMove(current == Mark.X ? playerXIndex : 1 - playerXIndex,
+                        System.nanoTime() - start);
             }
 
             renderer.renderBoard(board);
 
-            if (checkWin(current)) {
-                return current;
+            if (checkWinAtLastMove(current)) {
+                return finish(current);
             }
 
-            if (isBoardFull()) {
-                return Mark.BLANK;
+            if (board.isFull() || (windows != null && isDrawn(current))) {
+                return finish(Mark.BLANK);
             }
 
             // Switch turns
@@ -122,74 +201,104 @@ public class Game {
     }
 
     /**
-     * Checks whether the given {@link Mark} has achieved a win condition.
+     * Checks whether neither player can win any more: every window either holds marks of both
+     * players or needs more marks than its player has moves left before the board fills up.
+     * The window counts are updated with the moves played since the last call only.
      *
-     * @param mark the mark to check (X or O).
-     * @return {@code true} if the mark has a winning sequence, otherwise {@code false}.
+     * @param justMoved the mark that played the last move.
+     * @return {@code true} if the game can only end in a tie.
      */
-    public boolean checkWin(Mark mark) {
-        int size = board.getSize();
-
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (board.getMark(row, col) == mark) {
-                    if (checkDirection(mark, row, col, 1, 0) || // vertical
-                            checkDirection(mark, row, col, 0, 1) || // horizontal
-                            checkDirection(mark, row, col, 1, -1) || // diagonal ↙
-                            checkDirection(mark, row, col, 1, 1)) {  // diagonal ↘
-                        return true;
-                    }
-                }
-            }
+    private boolean isDrawn(Mark justMoved) {
+        if (board.getMoveCount() < drawCheckStart) {
+            return false;
         }
-        return false;
+        windows.sync(board);
+        int empty = board.emptyCount();
+        Mark next = (justMoved == Mark.X) ? Mark.O : Mark.X;
+        // The player to move gets the extra move when an odd number of cells is left
+        return !windows.canStillWin(next, (empty + 1) / 2) && !windows.canStillWin(justMoved, empty / 2);
     }
 
     /**
-     * Checks a specific direction on the board to see if there is a winning sequence.
+     * Returns a lower bound on the number of moves before the game can be drawn early.
+     * <p>
+     * While both players still have {@code winStreak} moves left, a draw needs every window to
+     * hold marks of both players. A mark lies in at most as many windows as the busiest cell,
+     * so each player must have placed at least {@code windows / busiest} marks by then.
+     * </p>
      *
-     * @param mark the mark to check.
-     * @param row  the starting row.
-     * @param col  the starting column.
-     * @param dr   the row direction increment.
-     * @param dc   the column direction increment.
-     * @return {@code true} if a sequence of {@code winStreak} identical marks exists.
+     * @param size      the board size.
+     * @param winStreak the number of marks needed in a row to win.
+     * @return the move count from which {@link #isDrawn(Mark)} checks the windows.
      */
-    public boolean checkDirection(Mark mark, int row, int col, int dr, int dc) {
-        int count = 0;
-        int size = board.getSize();
-
-        for (int i = 0; i < winStreak; i++) {
-            int r = row + i * dr;
-            int c = col + i * dc;
+    private static int firstPossibleDraw(int size, int winStreak) {
+        WinLines lines = WinLines.of(size, winStreak);
+        int busiest = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            busiest = Math.max(busiest, lines.windowsEnd(cell) - lines.windowsStart(cell));
+        }
+        if (busiest == 0) {
+            return size * size; // nothing can be won: only a full board ends the game
+        }
+        int blockingMoves = 2 * ((lines.getWindowCount() + busiest - 1) / busiest);
+        int lastMoves = size * size - 2 * winStreak + 1;
+        return Math.max(0, Math.min(blockingMoves, lastMoves));
+    }
 
-            if (r < 0 || r >= size || c < 0 || c >= size) {
-                return false;
-            }
-            if (board.getMark(r, c) != mark) {
-                return false;
-            }
+    /**
+     * Lets the player of the given mark play its turn.
+     *
+     * @param mark the mark whose turn it is.
+     */
+    private void playTurn(Mark mark) {
+        if (mark == Mark.X) {
+            playerX.playTurn(board, Mark.X);
+        } else {
+            playerO.playTurn(board, Mark.O);
+        }
+    }
 
-            count++;
+    /**
+     * Reports the game length to the metrics recorder, if any, and returns the winner.
+     *
+     * @param winner the winner, or {@link Mark#BLANK} for a tie.
+     * @return {@code winner}.
+     */
+    private Mark finish(Mark winner) {
+        if (metrics != null) {
+            metrics.recordGame(board.getMoveCount());
         }
+        return winner;
+    }
 
-        return (count == winStreak);
+    /**
+     * Checks whether the given {@link Mark} has achieved a win condition.
+     *
+     * @param mark the mark to check (X or O).
+     * @return {@code true} if the mark has a winning sequence, otherwise {@code false}.
+     */
+    public boolean checkWin(Mark mark) {
+        return board.hasStreak(mark, winStreak);
     }
 
     /**
-     * Checks whether the board is full (no empty cells remain).
+     * Checks whether the most recently placed mark completed a winning sequence.
+     * <p>
+     * Only the lines through the last move can have changed, so instead of scanning
+     * the whole board this counts outward from that cell along the four axes
+     * (see {@link Board#completesStreak(int, int, int)}), costing O(winStreak) per move.
+     * </p>
      *
-     * @return {@code true} if the board is full, otherwise {@code false}.
+     * @param mark the mark that was just played.
+     * @return {@code true} if the last move gives {@code mark} a winning sequence.
      */
-    private boolean isBoardFull() {
-        int size = board.getSize();
-        for (int r = 0; r < size; r++) {
-            for (int c = 0; c < size; c++) {
-                if (board.getMark(r, c) == Mark.BLANK) {
-                    return false;
-                }
-            }
+    private boolean checkWinAtLastMove(Mark mark) {
+        int row = board.getLastRow();
+        int col = board.getLastCol();
+        if (row == Board.NO_MOVE || board.getMark(row, col) != mark) {
+            return checkWin(mark);
         }
-        return true;
+
+        return board.completesStreak(row, col, winStreak);
     }
 }
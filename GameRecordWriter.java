@@ -0,0 +1,199 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes finished games to a compact binary game-record file.
+ * <p>
+ * The file starts with a header, followed by one record per game:
+ * <pre>
+ * header: "TTTR"  magic bytes
+ *         u8      format version
+ *         u8      header flags    (bit 0: the run was seeded)
+ *         varint  board size
+ *         varint  win streak
+ *         string  player 1 type   (varint byte length, then UTF-8 bytes)
+ *         string  player 2 type
+ *         i64     random seed     (0 if the run was not seeded)
+ * game:   u8      flags           (bit 0: player 2 played X; bits 1-2: winner, 0 tie, 1 X, 2 O)
+ *         varint  number of moves
+ *         varint  cell index of each move, X first, alternating
+ * </pre>
+ * Varints are unsigned LEB128, so every move of a board up to 11x11 takes a single byte.
+ * Records are collected in a direct buffer and written through a {@link FileChannel}
+ * when the buffer fills up, so recording costs little per game. A record longer than the
+ * buffer (a game of more than about 13,000 moves) is written in several chunks.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see GameReplayer
+ * @see Tournament
+ */
+public class GameRecordWriter implements Closeable {
+
+    /** The magic bytes every record file starts with. */
+    static final byte[] MAGIC = {'T', 'T', 'T', 'R'};
+
+    /** The current format version. */
+    static final int VERSION = 2;
+
+    /** Header flag bit set when the run was seeded. */
+    static final int SEEDED_FLAG = 1;
+
+    /** Flag bit set when the second player played X. */
+    static final int PLAYER2_IS_X_FLAG = 1;
+
+    /** Shift of the winner code within the flags byte. */
+    static final int WINNER_SHIFT = 1;
+
+    /** Winner code of a tie. */
+    static final int WINNER_TIE = 0;
+
+    /** Winner code of an X win. */
+    static final int WINNER_X = 1;
+
+    /** Winner code of an O win. */
+    static final int WINNER_O = 2;
+
+    /** Payload bits per varint byte. */
+    private static final int VARINT_BITS = 7;
+
+    /** Varint continuation bit. */
+    private static final int VARINT_MORE = 0x80;
+
+    /** Maximum bytes of an int varint. */
+    private static final int MAX_VARINT_BYTES = 5;
+
+    /** Capacity of the write buffer. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The channel of the record file. */
+    private final FileChannel channel;
+
+    /** Records not yet written to the channel. */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates (or truncates) a record file and writes its header.
+     *
+     * @param path        the file to write.
+     * @param size        the board size.
+     * @param winStreak   the win streak.
+     * @param playerType1 the type of the first player.
+     * @param playerType2 the type of the second player.
+     * @param seeded      whether the run was seeded.
+     * @param seed        the random seed of the run; ignored if it was not seeded.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public GameRecordWriter(Path path, int size, int winStreak,
+                            String playerType1, String playerType2, boolean seeded, long seed) {
+        byte[] name1 = String.valueOf(playerType1).getBytes(StandardCharsets.UTF_8);
+        byte[] name2 = String.valueOf(playerType2).getBytes(StandardCharsets.UTF_8);
+        int headerSize = MAGIC.length + 2 + 4 * MAX_VARINT_BYTES + name1.length + name2.length + Long.BYTES;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, headerSize));
+        this.channel = open(path);
+
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) (seeded ? SEEDED_FLAG : 0));
+        putVarint(size);
+        putVarint(winStreak);
+        putVarint(name1.length);
+        buffer.put(name1);
+        putVarint(name2.length);
+        buffer.put(name2);
+        buffer.putLong(seeded ? seed : 0);
+    }
+
+    /**
+     * Appends the record of a finished game.
+     * <p>
+     * The moves are read from the board's move history, so the board must be the one
+     * the game was played on, with no marks taken back. Safe to call from several threads.
+     * </p>
+     *
+     * @param player2IsX whether the second player played X in this game.
+     * @param winner     the winner, or {@link Mark#BLANK} for a tie.
+     * @param board      the final board of the game.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public synchronized void writeGame(boolean player2IsX, Mark winner, Board board) {
+        int moves = board.getMoveCount();
+        // Start a record that fits the buffer in an empty buffer, so it is written at once
+        long recordBound = 1 + (long) MAX_VARINT_BYTES * (moves + 1);
+        if (buffer.remaining() < Math.min(recordBound, buffer.capacity())) {
+            drain();
+        }
+        int winnerCode = (winner == Mark.X) ? WINNER_X : (winner == Mark.O) ? WINNER_O : WINNER_TIE;
+        buffer.put((byte) ((player2IsX ? PLAYER2_IS_X_FLAG : 0) | (winnerCode << WINNER_SHIFT)));
+        putVarint(moves);
+        for (int i = 0; i < moves; i++) {
+            if (buffer.remaining() < MAX_VARINT_BYTES) {
+                drain(); // only a record longer than the buffer gets here
+            }
+            putVarint(board.getMove(i));
+        }
+    }
+
+    /**
+     * Writes any buffered records and closes the file.
+     *
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and empties the buffer.
+     */
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write game records", e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Appends an unsigned LEB128 varint to the buffer.
+     *
+     * @param value a non-negative value.
+     */
+    private void putVarint(int value) {
+        while ((value & ~(VARINT_MORE - 1)) != 0) {
+            buffer.put((byte) ((value & (VARINT_MORE - 1)) | VARINT_MORE));
+            value >>>= VARINT_BITS;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Opens the record file for writing.
+     *
+     * @param path the file.
+     * @return the channel.
+     */
+    private static FileChannel open(Path path) {
+        try {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open game record file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a game-record file written by {@link GameRecordWriter} and replays its games.
+ * <p>
+ * Each call to {@link #replayNext(Renderer)} rebuilds the next game on a cleared {@link Board},
+ * placing its marks one by one and passing the board to a {@link Renderer} after every move,
+ * just like a live {@link Game} does. The file is memory-mapped, so large records are read
+ * without copying.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see GameRecordWriter
+ * @see Tournament
+ */
+public class GameReplayer implements Closeable {
+
+    /** Payload bits per varint byte. */
+    private static final int VARINT_BITS = 7;
+
+    /** Varint continuation bit. */
+    private static final int VARINT_MORE = 0x80;
+
+    /** Mask of the winner code once shifted down. */
+    private static final int WINNER_MASK = 0x3;
+
+    /** The channel of the record file. */
+    private final FileChannel channel;
+
+    /** The mapped contents of the record file. */
+    private final ByteBuffer buffer;
+
+    /** The board size from the header. */
+    private final int size;
+
+    /** The win streak from the header. */
+    private final int winStreak;
+
+    /** The type of the first player from the header. */
+    private final String playerType1;
+
+    /** The type of the second player from the header. */
+    private final String playerType2;
+
+    /** Whether the header says the run was seeded. */
+    private final boolean seeded;
+
+    /** The random seed from the header. */
+    private final long seed;
+
+    /** The board of the last replayed game, or {@code null} before the first one. */
+    private Board board;
+
+    /** Whether the second player played X in the last replayed game. */
+    private boolean player2IsX;
+
+    /**
+     * Opens a record file and reads its header.
+     *
+     * @param path the record file.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a game record of a supported version.
+     */
+    public GameReplayer(Path path) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read game record file " + path, e);
+        }
+        try {
+            byte[] magic = new byte[GameRecordWriter.MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, GameRecordWriter.MAGIC)) {
+                throw new IllegalArgumentException(path + " is not a game record file");
+            }
+            int version = buffer.get() & 0xFF;
+            if (version != GameRecordWriter.VERSION) {
+                throw new IllegalArgumentException("Unsupported game record version " + version);
+            }
+            seeded = (buffer.get() & GameRecordWriter.SEEDED_FLAG) != 0;
+            size = getVarint();
+            winStreak = getVarint();
+            playerType1 = getString();
+            playerType2 = getString();
+            seed = buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(path + " has a truncated header", e);
+        }
+    }
+
+    /**
+     * Returns the board size of the recorded games.
+     *
+     * @return the board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the win streak of the recorded games.
+     *
+     * @return the number of marks needed in a row to win.
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * Returns the type of the first player.
+     *
+     * @return the player type name.
+     */
+    public String getPlayerType1() {
+        return playerType1;
+    }
+
+    /**
+     * Returns the type of the second player.
+     *
+     * @return the player type name.
+     */
+    public String getPlayerType2() {
+        return playerType2;
+    }
+
+    /**
+     * Returns whether the games were played with a random seed.
+     *
+     * @return {@code true} if the run was seeded.
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Returns the random seed the games were played with.
+     *
+     * @return the seed, or 0 if the run was not {@link #isSeeded() seeded}.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns whether there are more games to replay.
+     *
+     * @return {@code true} if {@link #replayNext(Renderer)} can be called.
+     */
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Replays the next game, rendering the board after every move.
+     *
+     * @param renderer the renderer to draw the board with.
+     * @return the recorded winner, or {@link Mark#BLANK} for a tie.
+     * @throws IllegalArgumentException if the record is truncated or holds an illegal move.
+     */
+    public Mark replayNext(Renderer renderer) {
+        try {
+            int flags = buffer.get() & 0xFF;
+            player2IsX = (flags & GameRecordWriter.PLAYER2_IS_X_FLAG) != 0;
+            int winnerCode = (flags >>> GameRecordWriter.WINNER_SHIFT) & WINNER_MASK;
+            int moves = getVarint();
+
+            if (board == null) {
+                board = new BoardFactory().buildBoard(size);
+            } else {
+                board.reset();
+            }
+            Mark current = Mark.X;
+            for (int i = 0; i < moves; i++) {
+                int cell = getVarint();
+                if (!board.putMark(current, cell / size, cell % size)) {
+                    throw new IllegalArgumentException("Illegal recorded move " + cell);
+                }
+                renderer.renderBoard(board);
+                current = (current == Mark.X) ? Mark.O : Mark.X;
+            }
+
+            if (winnerCode == GameRecordWriter.WINNER_X) {
+                return Mark.X;
+            }
+            return (winnerCode == GameRecordWriter.WINNER_O) ? Mark.O : Mark.BLANK;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated game record", e);
+        }
+    }
+
+    /**
+     * Returns the final board of the last replayed game.
+     *
+     * @return the board, or {@code null} before the first game.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns whether the second player played X in the last replayed game.
+     *
+     * @return {@code true} if the second player played X.
+     */
+    public boolean isPlayer2X() {
+        return player2IsX;
+    }
+
+    /**
+     * Closes the record file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @return the value.
+     */
+    private int getVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += VARINT_BITS) {
+            int b = buffer.get() & 0xFF;
+            value |= (b & (VARINT_MORE - 1)) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @return the string.
+     */
+    private String getString() {
+        byte[] bytes = new byte[getVarint()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replays a record file and prints the results in the same format as {@link Tournament}.
+     * <p>
+     * Example of expected arguments:
+     * <pre>
+     * java GameReplayer [recordFile] [rendererType] [games]
+     * </pre>
+     * The renderer type defaults to {@code console}; {@code games} limits how many games are replayed.
+     * </p>
+     *
+     * @param args command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java GameReplayer <recordFile> [rendererType] [games]");
+            return;
+        }
+        String rendererType = (args.length > 1) ? args[1] : "console";
+        int games = (args.length > 2) ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+
+        try (GameReplayer replayer = new GameReplayer(Paths.get(args[0]));
+             Renderer renderer = new RendererFactory().buildRenderer(rendererType, replayer.getSize())) {
+            int player1Wins = 0;
+            int player2Wins = 0;
+            int ties = 0;
+            for (int i = 0; i < games && replayer.hasNext(); i++) {
+                Mark winner = replayer.replayNext(renderer);
+                if (winner == Mark.BLANK) {
+                    ties++;
+                } else if ((winner == Mark.X) != replayer.isPlayer2X()) {
+                    player1Wins++;
+                } else {
+                    player2Wins++;
+                }
+            }
+            renderer.flush();
+
+            System.out.println("######### Results #########");
+            System.out.println("Player 1, " + replayer.getPlayerType1() + " won: " + player1Wins + " rounds");
+            System.out.println("Player 2, " + replayer.getPlayerType2() + " won: " + player2Wins + " rounds");
+            System.out.print("Ties: " + ties);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
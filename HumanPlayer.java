@@ -26,4 +26,9 @@ public class HumanPlayer implements Player{
 
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsSparseBoards() {
+        return true;
+    }
+}
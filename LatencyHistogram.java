@@ -0,0 +1,156 @@
+/**
+ * A fixed-size histogram of latencies in nanoseconds, with roughly 12% relative precision.
+ * <p>
+ * Values are counted in logarithmic buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} equal sub-buckets, so recording a value is a few shifts and an
+ * array increment, and the histogram never allocates after construction. The exact
+ * maximum and mean are kept alongside the buckets.
+ * </p>
+ *
+ * <p>The histogram is not thread-safe: each thread records into its own histogram,
+ * and histograms are combined with {@link #add(LatencyHistogram)}.</p>
+ *
+ * @author Naama Even-Oz
+ * @see MetricsRecorder
+ */
+public class LatencyHistogram {
+
+    /** Log2 of the number of sub-buckets per power of two. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** The number of sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Enough buckets for every non-negative long. */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** The number of recorded values in each bucket. */
+    private final long[] buckets = new long[BUCKET_COUNT];
+
+    /** The number of recorded values. */
+    private long count;
+
+    /** The sum of the recorded values. */
+    private long sum;
+
+    /** The largest recorded value. */
+    private long max;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[bucketOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds all the values recorded by another histogram to this one.
+     *
+     * @param other the histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the total in nanoseconds.
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns an estimate of the given percentile: the upper bound of the bucket holding it,
+     * capped at the exact maximum.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the estimated value in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBoundOf(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the bucket of a non-negative value.
+     *
+     * @param value the value.
+     * @return the bucket index.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value counted in a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the bucket's upper bound.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowerBound = (SUB_BUCKETS + bucket % SUB_BUCKETS) * width;
+        return lowerBound + width - 1;
+    }
+}
@@ -0,0 +1,379 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A round-robin league between any number of player types.
+ * <p>
+ * Every pair of players meets for the same number of rounds, alternating who plays X
+ * exactly as in a {@link Tournament} (both play their rounds with a {@link RoundRunner}).
+ * All pairings are played concurrently on one shared fork-join pool: each pairing is split
+ * into chunks of rounds, and the chunks of all pairings are interleaved in the task queue,
+ * so a slow pairing (e.g. two search players) is spread over all workers instead of running
+ * on one while the others sit idle.
+ * </p>
+ *
+ * <p>When all games are done, the league prints a cross-table of wins, ties and losses
+ * and a rating for every player, fitted with the Bradley-Terry model and expressed on the
+ * Elo scale.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Tournament
+ * @see RoundRunner
+ * @see PlayerFactory
+ */
+public class League {
+
+    /** Command-line flag setting the number of worker threads, followed by {@code =threads}. */
+    private static final String PARALLEL_FLAG = "-parallel";
+
+    /** The rating of an average player. */
+    private static final double BASE_RATING = 1500;
+
+    /** Elo points per factor of ten in playing strength. */
+    private static final double ELO_SCALE = 400;
+
+    /** Maximum number of Bradley-Terry fitting iterations. */
+    private static final int MAX_ITERATIONS = 10000;
+
+    /** The fit stops when no strength changes by more than this fraction. */
+    private static final double TOLERANCE = 1e-10;
+
+    /** Width of the player-name column of the cross-table. */
+    private static final int NAME_WIDTH = 12;
+
+    /** The number of rounds each pair of players plays. */
+    private final int roundsPerPairing;
+
+    /** The board size for each game. */
+    private final int size;
+
+    /** The number of marks needed to win. */
+    private final int winStreak;
+
+    /** The player types taking part. */
+    private final String[] playerTypes;
+
+    /** {@code wins[i][j]} is the number of games player {@code i} won against player {@code j}. */
+    private final int[][] wins;
+
+    /** {@code ties[i][j]} is the number of tied games between players {@code i} and {@code j}. */
+    private final int[][] ties;
+
+    /** The number of worker threads. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructs a league.
+     *
+     * @param roundsPerPairing the number of rounds each pair of players plays.
+     * @param size             the board size for each game.
+     * @param winStreak        the number of marks needed to win.
+     * @param playerTypes      the player types taking part, as understood by {@link PlayerFactory}.
+     * @throws IllegalArgumentException if a player type is unknown, is the human player type
+     *                                  (league games are played on worker threads), or cannot play
+     *                                  on the board size (see {@link RoundRunner#checkBoardSupport}).
+     */
+    public League(int roundsPerPairing, int size, int winStreak, List<String> playerTypes) {
+        PlayerFactory playerFactory = new PlayerFactory();
+        for (String type : playerTypes) {
+            if (!playerFactory.isKnownType(type)) {
+                throw new IllegalArgumentException("Unknown player type: " + type);
+            }
+            if (playerFactory.isHumanType(type)) {
+                throw new IllegalArgumentException("Human players cannot play a league");
+            }
+            if (BoardFactory.isSparse(size)) {
+                RoundRunner.checkBoardSupport(playerFactory.buildPlayer(type, winStreak), size);
+            }
+        }
+        this.roundsPerPairing = roundsPerPairing;
+        this.size = size;
+        this.winStreak = winStreak;
+        this.playerTypes = playerTypes.toArray(new String[0]);
+        this.wins = new int[this.playerTypes.length][this.playerTypes.length];
+        this.ties = new int[this.playerTypes.length][this.playerTypes.length];
+    }
+
+    /**
+     * Sets the number of worker threads; by default, one per available core.
+     *
+     * @param threads the number of worker threads.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Plays every pairing and prints the cross-table and the ratings.
+     */
+    public void playLeague() {
+        int players = playerTypes.length;
+        int chunks = RoundRunner.chunkCount(roundsPerPairing, threads);
+        Renderer renderer = new VoidRenderer();
+        RoundRunner runner = new RoundRunner(size, winStreak, renderer);
+
+        // Interleave the chunks of all pairings, so that no pairing is left to run alone at the end
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        List<int[]> taskPairs = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) {
+            int from = RoundRunner.chunkStart(0, roundsPerPairing, chunks, c);
+            int to = RoundRunner.chunkStart(0, roundsPerPairing, chunks, c + 1);
+            for (int i = 0; i < players; i++) {
+                for (int j = i + 1; j < players; j++) {
+                    String type1 = playerTypes[i];
+                    String type2 = playerTypes[j];
+                    tasks.add(() -> {
+                        PlayerFactory playerFactory = new PlayerFactory();
+                        int[] tally = new int[Tournament.TALLY_SLOTS];
+                        runner.playRounds(from, to, playerFactory.buildPlayer(type1, winStreak),
+                                playerFactory.buildPlayer(type2, winStreak), tally);
+                        return tally;
+                    });
+                    taskPairs.add(new int[]{i, j});
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<int[]> tallies;
+        try (renderer) {
+            tallies = RoundRunner.invokeAll(pool, tasks);
+        } finally {
+            pool.shutdown();
+        }
+        for (int t = 0; t < tallies.size(); t++) {
+            int[] tally = tallies.get(t);
+            int i = taskPairs.get(t)[0];
+            int j = taskPairs.get(t)[1];
+            wins[i][j] += tally[Tournament.PLAYER1_WINS];
+            wins[j][i] += tally[Tournament.PLAYER2_WINS];
+            ties[i][j] += tally[Tournament.TIES];
+            ties[j][i] += tally[Tournament.TIES];
+        }
+
+        printCrossTable();
+        printRatings();
+    }
+
+    /**
+     * Returns the number of games one player won against another.
+     *
+     * @param player   the index of the player.
+     * @param opponent the index of the opponent.
+     * @return the number of wins.
+     */
+    public int getWins(int player, int opponent) {
+        return wins[player][opponent];
+    }
+
+    /**
+     * Returns the number of tied games between two players.
+     *
+     * @param player   the index of one player.
+     * @param opponent the index of the other player.
+     * @return the number of ties.
+     */
+    public int getTies(int player, int opponent) {
+        return ties[player][opponent];
+    }
+
+    /**
+     * Fits Bradley-Terry strengths to the results and converts them to Elo-scale ratings.
+     * <p>
+     * Player {@code i} beats player {@code j} with probability {@code s[i] / (s[i] + s[j])}.
+     * The strengths are fitted with the minorization-maximization iteration, counting a tie as
+     * half a win for each side. Every pairing also gets one virtual tie, so that players who win
+     * or lose every game still get finite ratings. The rating of a player is
+     * {@code 1500 + 400 * log10(s)}, with the strengths scaled to a geometric mean of 1.
+     * </p>
+     *
+     * @return the rating of every player.
+     */
+    public double[] computeRatings() {
+        int players = playerTypes.length;
+        double[] score = new double[players];
+        double[][] games = new double[players][players];
+        for (int i = 0; i < players; i++) {
+            for (int j = 0; j < players; j++) {
+                if (i != j) {
+                    games[i][j] = wins[i][j] + wins[j][i] + ties[i][j] + 1;
+                    score[i] += wins[i][j] + 0.5 * (ties[i][j] + 1);
+                }
+            }
+        }
+
+        double[] strength = new double[players];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double[] next = new double[players];
+            double logSum = 0;
+            for (int i = 0; i < players; i++) {
+                double denominator = 0;
+                for (int j = 0; j < players; j++) {
+                    if (i != j) {
+                        denominator += games[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                next[i] = (denominator == 0) ? 1 : score[i] / denominator;
+                logSum += Math.log(next[i]);
+            }
+            double scale = Math.exp(logSum / players);
+            double change = 0;
+            for (int i = 0; i < players; i++) {
+                next[i] /= scale;
+                change = Math.max(change, Math.abs(next[i] - strength[i]) / strength[i]);
+            }
+            strength = next;
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        double[] ratings = new double[players];
+        for (int i = 0; i < players; i++) {
+            ratings[i] = BASE_RATING + ELO_SCALE * Math.log10(strength[i]);
+        }
+        return ratings;
+    }
+
+    /**
+     * Prints the cross-table: each cell shows the row player's wins-ties-losses against the
+     * column player, and the last column the row player's total.
+     */
+    private void printCrossTable() {
+        int players = playerTypes.length;
+        int width = Math.max(NAME_WIDTH, String.valueOf(roundsPerPairing).length() * 3 + 4);
+        StringBuilder out = new StringBuilder("######### League #########").append(System.lineSeparator());
+        out.append(pad("", NAME_WIDTH));
+        for (String type : playerTypes) {
+            out.append(pad(type, width));
+        }
+        out.append("total (W-T-L)").append(System.lineSeparator());
+
+        for (int i = 0; i < players; i++) {
+            out.append(pad(playerTypes[i], NAME_WIDTH));
+            int totalWins = 0;
+            int totalTies = 0;
+            int totalLosses = 0;
+            for (int j = 0; j < players; j++) {
+                if (i == j) {
+                    out.append(pad("-", width));
+                    continue;
+                }
+                out.append(pad(wins[i][j] + "-" + ties[i][j] + "-" + wins[j][i], width));
+                totalWins += wins[i][j];
+                totalTies += ties[i][j];
+                totalLosses += wins[j][i];
+            }
+            out.append(totalWins).append('-').append(totalTies).append('-').append(totalLosses)
+                    .append(System.lineSeparator());
+        }
+        System.out.print(out);
+    }
+
+    /**
+     * Prints the players ordered by rating, with their share of points (a tie counts half).
+     */
+    private void printRatings() {
+        int players = playerTypes.length;
+        double[] ratings = computeRatings();
+        Integer[] order = new Integer[players];
+        for (int i = 0; i < players; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+
+        System.out.println("######### Ratings #########");
+        for (int rank = 0; rank < players; rank++) {
+            int i = order[rank];
+            double points = 0;
+            long played = 0;
+            for (int j = 0; j < players; j++) {
+                if (i != j) {
+                    points += wins[i][j] + 0.5 * ties[i][j];
+                    played += wins[i][j] + ties[i][j] + wins[j][i];
+                }
+            }
+            double percent = (played == 0) ? 0 : 100 * points / played;
+            String line = String.format(Locale.ROOT, "%d. %s Elo %.0f (score %.1f%%)",
+                    rank + 1, pad(playerTypes[i], NAME_WIDTH), ratings[i], percent);
+            if (rank < players - 1) {
+                System.out.println(line);
+            } else {
+                System.out.print(line);
+            }
+        }
+    }
+
+    /**
+     * Left-aligns a string in a column, keeping at least one space after it.
+     *
+     * @param text  the text.
+     * @param width the column width.
+     * @return the padded text.
+     */
+    private static String pad(String text, int width) {
+        StringBuilder padded = new StringBuilder(text);
+        do {
+            padded.append(' ');
+        } while (padded.length() < width);
+        return padded.toString();
+    }
+
+    /**
+     * The main method that starts the league.
+     * <p>
+     * Example of expected arguments:
+     * <pre>
+     * java League [roundsPerPairing] [size] [winStreak] [playerType1] [playerType2] [more player types...] [-parallel=threads]
+     * </pre>
+     * Games are not rendered. All cores are used unless {@code -parallel=threads} says otherwise.
+     * </p>
+     *
+     * @param args command-line arguments used to configure the league.
+     */
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            System.out.println("Usage: java League <roundsPerPairing> <size> <winStreak>"
+                    + " <player1Type> <player2Type> [more player types...] [-parallel=threads]");
+            return;
+        }
+
+        int roundsPerPairing = Integer.parseInt(args[0]);
+        int size = Integer.parseInt(args[1]);
+        int winStreak = Integer.parseInt(args[2]);
+        List<String> playerTypes = new ArrayList<>();
+        int threads = 0;
+        PlayerFactory playerFactory = new PlayerFactory();
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith(PARALLEL_FLAG + "=")) {
+                threads = Integer.parseInt(args[i].substring(PARALLEL_FLAG.length() + 1));
+            } else if (args[i].equals(PARALLEL_FLAG)) {
+                threads = Runtime.getRuntime().availableProcessors();
+            } else if (!playerFactory.isKnownType(args[i])) {
+                System.out.println("Unknown player type: " + args[i]);
+                return;
+            } else if (playerFactory.isHumanType(args[i])) {
+                System.out.println("Human players cannot play a league");
+                return;
+            } else {
+                playerTypes.add(args[i]);
+            }
+        }
+
+        if (playerTypes.size() < 2) {
+            System.out.println("A league needs at least two player types");
+            return;
+        }
+
+        League league = new League(roundsPerPairing, size, winStreak, playerTypes);
+        if (threads > 0) {
+            league.setThreads(threads);
+        }
+        league.playLeague();
+    }
+}
@@ -0,0 +1,618 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A Monte Carlo Tree Search player for Tic-Tac-Toe on any board size and win streak.
+ * <p>
+ * Each move, the player grows a search tree from the current position by repeating four steps:
+ * <b>selection</b> of a promising leaf using the UCT formula, <b>expansion</b> of one untried move,
+ * a fast random <b>playout</b> to the end of the game, and <b>backpropagation</b> of the result.
+ * The move whose root child was visited most often is played.
+ * </p>
+ *
+ * <p>The search stops after a playout budget or a time budget per move, whichever comes first.
+ * The subtree under the moves that were actually played is kept between turns, so work done
+ * while considering the opponent's reply is not thrown away. With several threads, the player
+ * uses root parallelization: every thread grows its own tree on its own scratch board,
+ * and the visit counts of the root children are summed to choose the move. All players with
+ * the same number of threads share one thread pool, whose idle threads exit after a while,
+ * so players need not be closed however many of them are built.</p>
+ *
+ * <p>Playout throughput is recorded and exposed through {@link #getLastPlayoutsPerSecond()}
+ * and {@link #getPlayoutsPerSecond()}, and logged at level FINE after every move.</p>
+ *
+ * <p>After {@link #setSeed(long)}, the search is reproducible as long as it is limited by the
+ * playout budget only, i.e. with no time budget.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Player
+ * @see AlphaBetaPlayer
+ * @see Board
+ * @see Seedable
+ */
+public class MctsPlayer implements Player, Seedable {
+
+    /** The win streak used by the no-arg constructor (matches the default {@link Game}). */
+    private static final int DEFAULT_WIN_STREAK = 3;
+
+    /** The default number of playouts per move. */
+    private static final int DEFAULT_PLAYOUT_BUDGET = 2000;
+
+    /** Time budget value meaning "no time limit". */
+    private static final long NO_TIME_LIMIT = 0;
+
+    /** The UCT exploration constant. */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /** The reward of a tied playout, for both players. */
+    private static final double DRAW_REWARD = 0.5;
+
+    /** How many playouts run between two checks of the clock. */
+    private static final int TIME_CHECK_INTERVAL = 32;
+
+    /** How many plies below the old root to look for the current position. */
+    private static final int REUSE_DEPTH = 2;
+
+    /** Nanoseconds per second, for throughput figures. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** How long an idle search thread is kept, in seconds. */
+    private static final long POOL_KEEP_ALIVE_SECONDS = 30;
+
+    /** The shared search thread pools, by thread count. */
+    private static final Map<Integer, ExecutorService> POOLS = new ConcurrentHashMap<>();
+
+    private static final Logger LOGGER = Logger.getLogger(MctsPlayer.class.getName());
+
+    /** The number of consecutive marks required to win. */
+    private final int winStreak;
+
+    /** The maximum number of playouts per move, over all threads. */
+    private final int playoutBudget;
+
+    /** The maximum time per move in nanoseconds, or {@value #NO_TIME_LIMIT} for none. */
+    private final long timeBudgetNanos;
+
+    /** The number of search threads. */
+    private final int threads;
+
+    /** Source of the per-thread random generators. */
+    private SplittableRandom seedSource = new SplittableRandom();
+
+    /** One search tree per thread; created on the first move. */
+    private Worker[] workers;
+
+    /** Playouts run during the last move. */
+    private long lastPlayouts;
+
+    /** Wall-clock time of the last move's search, in nanoseconds. */
+    private long lastElapsedNanos;
+
+    /** Playouts run since this player was created. */
+    private long totalPlayouts;
+
+    /** Wall-clock search time since this player was created, in nanoseconds. */
+    private long totalElapsedNanos;
+
+    /** Default constructor, for the default win streak of 3. */
+    public MctsPlayer() {
+        this(DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * Constructs a single-threaded player for the given win streak with the default playout budget.
+     *
+     * @param winStreak the number of marks needed in a row to win.
+     */
+    public MctsPlayer(int winStreak) {
+        this(winStreak, DEFAULT_PLAYOUT_BUDGET, NO_TIME_LIMIT, 1);
+    }
+
+    /**
+     * Constructs a player with custom search limits.
+     *
+     * @param winStreak        the number of marks needed in a row to win.
+     * @param playoutBudget    the maximum number of playouts per move, over all threads.
+     * @param timeBudgetMillis the maximum search time per move in milliseconds, or 0 for none.
+     * @param threads          the number of search threads (root parallelization).
+     */
+    public MctsPlayer(int winStreak, int playoutBudget, long timeBudgetMillis, int threads) {
+        this.winStreak = winStreak;
+        this.playoutBudget = Math.max(1, playoutBudget);
+        this.timeBudgetNanos = Math.max(NO_TIME_LIMIT, timeBudgetMillis) * 1_000_000L;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Restarts the random playouts from the given seed.
+     * The search trees are dropped, so that every worker starts from a generator split off the seed.
+     *
+     * @param seed the seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        seedSource = new SplittableRandom(seed);
+        workers = null;
+    }
+
+    /**
+     * Plays a single turn by searching from the current position and placing the mark
+     * on the most visited move.
+     *
+     * @param board the {@link Board} representing the current game state.
+     * @param mark  the {@link Mark} representing the player's symbol (X or O).
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        int size = board.getSize();
+        if (board.isFull()) {
+            return;
+        }
+        ensureWorkers(size);
+
+        long start = System.nanoTime();
+        long deadline = (timeBudgetNanos == NO_TIME_LIMIT) ? NO_TIME_LIMIT : start + timeBudgetNanos;
+        int perWorker = (playoutBudget + threads - 1) / threads;
+        long playouts = (threads == 1)
+                ? workers[0].search(board, mark, perWorker, deadline)
+                : searchInParallel(board, mark, perWorker, deadline);
+        long elapsed = System.nanoTime() - start;
+
+        int best = mostVisitedMove(size);
+        board.putMark(mark, best / size, best % size);
+        for (Worker worker : workers) {
+            worker.advanceTo(best);
+        }
+
+        lastPlayouts = playouts;
+        lastElapsedNanos = elapsed;
+        totalPlayouts += playouts;
+        totalElapsedNanos += elapsed;
+        LOGGER.fine(() -> String.format("MCTS %s: %d playouts in %.2f ms (%.0f playouts/s)",
+                mark, lastPlayouts, lastElapsedNanos / 1e6, getLastPlayoutsPerSecond()));
+    }
+
+    /**
+     * Returns the number of playouts run during the last move.
+     *
+     * @return the playout count, over all threads.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Returns the playout throughput of the last move.
+     *
+     * @return playouts per second of wall-clock time, over all threads.
+     */
+    public double getLastPlayoutsPerSecond() {
+        return (lastElapsedNanos == 0) ? 0 : lastPlayouts * NANOS_PER_SECOND / lastElapsedNanos;
+    }
+
+    /**
+     * Returns the playout throughput since this player was created.
+     *
+     * @return playouts per second of wall-clock search time, over all threads.
+     */
+    public double getPlayoutsPerSecond() {
+        return (totalElapsedNanos == 0) ? 0 : totalPlayouts * NANOS_PER_SECOND / totalElapsedNanos;
+    }
+
+    /**
+     * Runs every worker's search on the thread pool.
+     *
+     * @param board     the current board.
+     * @param mark      the mark to move.
+     * @param playouts  the playout budget of each worker.
+     * @param deadline  the {@link System#nanoTime()} to stop at, or {@value #NO_TIME_LIMIT}.
+     * @return the total number of playouts run.
+     */
+    private long searchInParallel(Board board, Mark mark, int playouts, long deadline) {
+        List<Callable<Long>> tasks = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            tasks.add(() -> worker.search(board, mark, playouts, deadline));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> result : poolFor(threads).invokeAll(tasks)) {
+                total += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("MCTS search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS search failed", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Sums the visit counts of the root children over all workers and returns the best move.
+     *
+     * @param size the board size.
+     * @return the cell index of the most visited move.
+     */
+    private int mostVisitedMove(int size) {
+        int[] visits = new int[size * size];
+        int best = -1;
+        for (Worker worker : workers) {
+            Node root = worker.root;
+            for (int i = 0; i < root.childCount; i++) {
+                Node child = root.children[i];
+                visits[child.cell] += child.visits;
+                if (best < 0 || visits[child.cell] > visits[best]) {
+                    best = child.cell;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates the workers for the given board size, unless they already exist.
+     *
+     * @param size the board size.
+     */
+    private void ensureWorkers(int size) {
+        if (workers != null && workers[0].scratch.getSize() == size) {
+            return;
+        }
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(new BoardFactory().buildBoard(size), seedSource.split());
+        }
+    }
+
+    /**
+     * Returns the shared search thread pool for the given number of threads, creating it on
+     * first use. Its threads are daemons and exit when idle, so the pool never needs shutting down.
+     *
+     * @param threads the number of search threads.
+     * @return the pool.
+     */
+    private static ExecutorService poolFor(int threads) {
+        return POOLS.computeIfAbsent(threads, n -> {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(n, n, POOL_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), task -> {
+                        Thread thread = new Thread(task, "mcts-worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        });
+    }
+
+    /**
+     * Returns the opposing mark.
+     *
+     * @param mark X or O.
+     * @return O for X, and X for O.
+     */
+    private static Mark opponentOf(Mark mark) {
+        return (mark == Mark.X) ? Mark.O : Mark.X;
+    }
+
+    /**
+     * A single search tree together with the scratch board and random generator used to grow it.
+     * Each worker is only ever used by one thread at a time.
+     */
+    private final class Worker {
+
+        /** Board on which the tree path and playout of each iteration are played. */
+        private final Board scratch;
+
+        /** This worker's random generator. */
+        private final SplittableRandom random;
+
+        /** The root of the search tree, or {@code null} before the first search. */
+        private Node root;
+
+        /**
+         * Constructs a worker.
+         *
+         * @param scratch the scratch board, of the game's size.
+         * @param random  the worker's random generator.
+         */
+        Worker(Board scratch, SplittableRandom random) {
+            this.scratch = scratch;
+            this.random = random;
+        }
+
+        /**
+         * Grows the tree from the given position.
+         *
+         * @param board    the current board.
+         * @param mark     the mark to move.
+         * @param playouts the maximum number of playouts.
+         * @param deadline the {@link System#nanoTime()} to stop at, or {@value #NO_TIME_LIMIT}.
+         * @return the number of playouts run.
+         */
+        long search(Board board, Mark mark, int playouts, long deadline) {
+            root = findReusableRoot(board, mark);
+            int count = 0;
+            while (count < playouts) {
+                if (deadline != NO_TIME_LIMIT && count > 0 && count % TIME_CHECK_INTERVAL == 0
+                        && System.nanoTime() >= deadline) {
+                    break;
+                }
+                runIteration(board);
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Moves the root to the child reached by the given move, keeping its subtree
+         * for the next search.
+         *
+         * @param cell the cell index of the move played.
+         */
+        void advanceTo(int cell) {
+            Node next = null;
+            for (int i = 0; i < root.childCount; i++) {
+                if (root.children[i].cell == cell) {
+                    next = root.children[i];
+                    break;
+                }
+            }
+            root = next;
+        }
+
+        /**
+         * Looks for the current position in the kept tree, at most {@value #REUSE_DEPTH} plies
+         * below its root, and detaches it as the new root. Starts a fresh tree if not found.
+         *
+         * @param board the current board.
+         * @param mark  the mark to move.
+         * @return the root for this search.
+         */
+        private Node findReusableRoot(Board board, Mark mark) {
+            Node found = findPosition(root, board.getHash(), mark, REUSE_DEPTH);
+            if (found == null) {
+                return new Node(null, Board.NO_MOVE, mark, board.getHash());
+            }
+            found.parent = null;
+            return found;
+        }
+
+        /**
+         * Searches the given subtree for a node with the given position.
+         *
+         * @param node   the subtree root, possibly {@code null}.
+         * @param hash   the Zobrist hash of the position.
+         * @param toMove the mark to move in the position.
+         * @param depth  the number of plies to descend.
+         * @return the matching node, or {@code null} if none.
+         */
+        private Node findPosition(Node node, long hash, Mark toMove, int depth) {
+            if (node == null) {
+                return null;
+            }
+            if (node.hash == hash && node.toMove == toMove) {
+                return node;
+            }
+            if (depth == 0) {
+                return null;
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                Node found = findPosition(node.children[i], hash, toMove, depth - 1);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Runs one selection, expansion, playout and backpropagation step.
+         *
+         * @param board the current board.
+         */
+        private void runIteration(Board board) {
+            int size = scratch.getSize();
+            scratch.copyFrom(board);
+
+            // Selection: descend through fully expanded nodes
+            Node node = root;
+            while (!node.isTerminal() && node.isFullyExpanded(scratch) && node.childCount > 0) {
+                node = node.selectChild();
+                scratch.putMark(node.mover(), node.cell / size, node.cell % size);
+            }
+
+            // Expansion: add one untried move
+            if (!node.isTerminal() && !node.isFullyExpanded(scratch)) {
+                int cell = node.takeUntriedMove(random);
+                scratch.putMark(node.toMove, cell / size, cell % size);
+                Node child = new Node(node, cell, opponentOf(node.toMove), scratch.getHash());
+                if (scratch.completesStreak(cell / size, cell % size, winStreak)) {
+                    child.outcome = child.mover();
+                } else if (scratch.isFull()) {
+                    child.outcome = Mark.BLANK;
+                }
+                node.addChild(child);
+                node = child;
+            }
+
+            // Playout: play randomly to the end of the game
+            Mark winner = node.isTerminal() ? node.outcome : playout(node.toMove);
+
+            // Backpropagation: reward each node from the point of view of the player who moved into it
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (winner == Mark.BLANK) {
+                    n.reward += DRAW_REWARD;
+                } else if (winner == n.mover()) {
+                    n.reward += 1;
+                }
+            }
+        }
+
+        /**
+         * Plays uniformly random moves on the scratch board until the game ends.
+         *
+         * @param toMove the mark to move first.
+         * @return the winning mark, or {@link Mark#BLANK} for a tie.
+         */
+        private Mark playout(Mark toMove) {
+            int size = scratch.getSize();
+            Mark current = toMove;
+            while (!scratch.isFull()) {
+                int cell = scratch.randomEmptyCell(random);
+                scratch.putMark(current, cell / size, cell % size);
+                if (scratch.completesStreak(cell / size, cell % size, winStreak)) {
+                    return current;
+                }
+                current = opponentOf(current);
+            }
+            return Mark.BLANK;
+        }
+    }
+
+    /**
+     * A node of the search tree: a position, reached from its parent by playing {@link #cell}.
+     */
+    private static final class Node {
+
+        /** The cell index of the move leading here, or {@link Board#NO_MOVE} for a fresh root. */
+        private final int cell;
+
+        /** The mark to move in this position. */
+        private final Mark toMove;
+
+        /** The Zobrist hash of this position, used to find it again when reusing the tree. */
+        private final long hash;
+
+        /** The parent node, or {@code null} for the root. */
+        private Node parent;
+
+        /** The expanded children; the first {@link #childCount} entries are in use. */
+        private Node[] children;
+
+        /** The number of expanded children. */
+        private int childCount;
+
+        /** The moves not expanded yet; the first {@link #untriedCount} entries are in use. */
+        private int[] untried;
+
+        /** The number of moves not expanded yet. */
+        private int untriedCount;
+
+        /** The number of playouts through this node. */
+        private int visits;
+
+        /** The total reward of those playouts for the player who moved into this node. */
+        private double reward;
+
+        /** The winner if the game is over in this position ({@link Mark#BLANK} for a tie), else null. */
+        private Mark outcome;
+
+        /**
+         * Constructs a node.
+         *
+         * @param parent the parent node, or {@code null} for a root.
+         * @param cell   the cell index of the move leading here.
+         * @param toMove the mark to move in this position.
+         * @param hash   the Zobrist hash of this position.
+         */
+        Node(Node parent, int cell, Mark toMove, long hash) {
+            this.parent = parent;
+            this.cell = cell;
+            this.toMove = toMove;
+            this.hash = hash;
+        }
+
+        /**
+         * Returns the mark that moved into this node.
+         *
+         * @return the opponent of the mark to move.
+         */
+        Mark mover() {
+            return opponentOf(toMove);
+        }
+
+        /**
+         * Checks whether the game is over in this position.
+         *
+         * @return true if this node is a win or a tie.
+         */
+        boolean isTerminal() {
+            return outcome != null;
+        }
+
+        /**
+         * Checks whether every legal move of this position has been expanded,
+         * listing the legal moves on the first call.
+         *
+         * @param board the board, set to this node's position.
+         * @return true if no untried moves remain.
+         */
+        boolean isFullyExpanded(Board board) {
+            if (untried == null) {
+                untriedCount = board.emptyCount();
+                untried = new int[untriedCount];
+                for (int i = 0; i < untriedCount; i++) {
+                    untried[i] = board.getEmptyCell(i);
+                }
+                children = new Node[untriedCount];
+            }
+            return untriedCount == 0;
+        }
+
+        /**
+         * Removes and returns a random untried move.
+         *
+         * @param random the random generator.
+         * @return the cell index of the move.
+         */
+        int takeUntriedMove(SplittableRandom random) {
+            int i = random.nextInt(untriedCount);
+            int cell = untried[i];
+            untried[i] = untried[--untriedCount];
+            return cell;
+        }
+
+        /**
+         * Adds an expanded child.
+         *
+         * @param child the child node.
+         */
+        void addChild(Node child) {
+            children[childCount++] = child;
+        }
+
+        /**
+         * Selects the child maximizing the UCT value: average reward plus an exploration
+         * bonus that shrinks as the child is visited more.
+         *
+         * @return the selected child.
+         */
+        Node selectChild() {
+            double logVisits = Math.log(visits);
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < childCount; i++) {
+                Node child = children[i];
+                double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
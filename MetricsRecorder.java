@@ -0,0 +1,82 @@
+/**
+ * Collects the move latencies and game lengths of the games played on one thread.
+ * <p>
+ * A {@link Game} given a recorder through {@link Game#setMetrics(MetricsRecorder, int)} times
+ * every {@link Player#playTurn(Board, Mark)} call and reports it here, together with the number
+ * of moves of each finished game. Latencies are kept per tournament player (player 1 or player 2),
+ * whichever mark they play.
+ * </p>
+ *
+ * <p>A recorder is written by a single thread only, so recording never synchronizes.
+ * {@link TournamentMetrics} creates one recorder per worker and reads them all; such reads
+ * while games are still running may lag slightly behind.</p>
+ *
+ * @author Naama Even-Oz
+ * @see TournamentMetrics
+ * @see LatencyHistogram
+ */
+public class MetricsRecorder {
+
+    /** Index of the first player. */
+    public static final int PLAYER1 = 0;
+
+    /** Index of the second player. */
+    public static final int PLAYER2 = 1;
+
+    /** The move latencies of each player, indexed by {@link #PLAYER1} and {@link #PLAYER2}. */
+    private final LatencyHistogram[] latencies = {new LatencyHistogram(), new LatencyHistogram()};
+
+    /** The number of finished games. */
+    private long games;
+
+    /** The total number of moves in finished games. */
+    private long moves;
+
+    /**
+     * Records the time one player took for a move.
+     *
+     * @param player {@link #PLAYER1} or {@link #PLAYER2}.
+     * @param nanos  the duration of the move in nanoseconds.
+     */
+    public void recordMove(int player, long nanos) {
+        latencies[player].record(nanos);
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param gameMoves the number of moves played in the game.
+     */
+    public void recordGame(int gameMoves) {
+        games++;
+        moves += gameMoves;
+    }
+
+    /**
+     * Returns the move latencies of a player.
+     *
+     * @param player {@link #PLAYER1} or {@link #PLAYER2}.
+     * @return the player's histogram.
+     */
+    public LatencyHistogram getLatencies(int player) {
+        return latencies[player];
+    }
+
+    /**
+     * Returns the number of finished games.
+     *
+     * @return the game count.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the total number of moves in finished games.
+     *
+     * @return the move count.
+     */
+    public long getMoves() {
+        return moves;
+    }
+}
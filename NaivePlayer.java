@@ -27,8 +27,8 @@ public class NaivePlayer implements Player {
     /**
      * Plays a single turn for this player.
      * <p>
-     * The player scans the board from the first row and column, moving sequentially
-     * until it finds the first empty cell (Mark.BLANK), where it places its mark.
+     * The player places its mark on the first empty cell (Mark.BLANK) in row-major order,
+     * as reported by {@link Board#firstEmptyCell()}.
      * </p>
      *
      * @param board the {@link Board} representing the current game state.
@@ -37,16 +37,20 @@ public class NaivePlayer implements Player {
     @Override
     public void playTurn(Board board, Mark mark) {
         int boardSize = board.getSize();
-
-        // Iterate through all board positions in row-major order
-        for (int row = 0; row < boardSize; row++) {
-            for (int col = 0; col < boardSize; col++) {
-                if (board.getMark(row, col) == Mark.BLANK) {
-                    board.putMark(mark, row, col);
-                    return; // Turn complete
-                }
-            }
+        int cell = board.firstEmptyCell();
+        if (cell == Board.NO_MOVE) {
+            return; // If the board is full, nothing happens (no available moves)
         }
-        // If the board is full, nothing happens (no available moves)
+        board.putMark(mark, cell / boardSize, cell % boardSize);
+    }
+
+    /**
+     * Returns {@code true}: the player only reads the board's first empty cell.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean supportsSparseBoards() {
+        return true;
     }
 }
@@ -32,4 +32,19 @@ public interface Player {
      * @param mark  the {@link Mark} representing the player's symbol (X or O).
      */
     void playTurn(Board board, Mark mark);
+
+    /**
+     * Tells whether the player can play on a {@link SparseBoard}, i.e. on boards of
+     * {@link BoardFactory#SPARSE_MIN_SIZE} cells a side or more.
+     * <p>
+     * Such boards are too large for any state that grows with the board area (per-cell or
+     * per-window tables, lists of every empty cell), so players must opt in: by default
+     * they are rejected on sparse board sizes.
+     * </p>
+     *
+     * @return {@code true} if the player's memory and work per move do not grow with the board area.
+     */
+    default boolean supportsSparseBoards() {
+        return false;
+    }
 }
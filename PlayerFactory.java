@@ -1,3 +1,5 @@
+import java.util.Set;
+
 /**
  * A factory class responsible for creating {@link Player} objects based on a given type string.
  * <p>
@@ -11,6 +13,9 @@
  * @see WhateverPlayer
  * @see NaivePlayer
  * @see SmartPlayer
+ * @see AlphaBetaPlayer
+ * @see MctsPlayer
+ * @see TablebasePlayer
  */
 public class PlayerFactory {
 
@@ -26,6 +31,22 @@ public class PlayerFactory {
     /** Identifier for smart player type. */
     private static final String SMART_TYPE = "smart";
 
+    /** Identifier for alpha-beta search player type. */
+    private static final String ALPHA_BETA_TYPE = "alphabeta";
+
+    /** Identifier for Monte Carlo Tree Search player type. */
+    private static final String MCTS_TYPE = "mcts";
+
+    /** Identifier for the tablebase-backed perfect player type. */
+    private static final String PERFECT_TYPE = "perfect";
+
+    /** Every player type identifier {@link #buildPlayer(String, int)} understands. */
+    private static final Set<String> TYPES = Set.of(HUMAN_TYPE, WHATEVER_TYPE, NAIVE_TYPE, SMART_TYPE,
+            ALPHA_BETA_TYPE, MCTS_TYPE, PERFECT_TYPE);
+
+    /** Win streak assumed when none is given (matches the default {@link Game}). */
+    private static final int DEFAULT_WIN_STREAK = 3;
+
     /** Default constructor for PlayerFactory. */
     public PlayerFactory() {}
 
@@ -33,18 +54,28 @@ public class PlayerFactory {
      * Builds and returns a {@link Player} instance according to the given type string.
      * Returns {@code null} if the type is invalid.
      *
-     * @param type the player type identifier (human, whatever, naive, smart).
+     * @param type the player type identifier (human, whatever, naive, smart, alphabeta, mcts, perfect).
      * @return a new {@link Player} instance, or {@code null} if invalid.
      */
     public Player buildPlayer(String type) {
+        return buildPlayer(type, DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * Builds and returns a {@link Player} instance for a game with the given win streak.
+     * Players that do not depend on the win streak ignore it.
+     * Returns {@code null} if the type is invalid.
+     *
+     * @param type      the player type identifier (human, whatever, naive, smart, alphabeta, mcts, perfect).
+     * @param winStreak the number of marks needed in a row to win.
+     * @return a new {@link Player} instance, or {@code null} if invalid.
+     */
+    public Player buildPlayer(String type, int winStreak) {
         if (type == null) {
             return null;
         }
 
-        // Normalize for consistent matching
-        String normalizedType = type.trim().toLowerCase();
-
-        switch (normalizedType) {
+        switch (normalize(type)) {
             case HUMAN_TYPE:
                 return new HumanPlayer();
             case WHATEVER_TYPE:
@@ -52,9 +83,46 @@ public class PlayerFactory {
             case NAIVE_TYPE:
                 return new NaivePlayer();
             case SMART_TYPE:
-                return new SmartPlayer();
+                return new SmartPlayer(winStreak);
+            case ALPHA_BETA_TYPE:
+                return new AlphaBetaPlayer(winStreak);
+            case MCTS_TYPE:
+                return new MctsPlayer(winStreak);
+            case PERFECT_TYPE:
+                return new TablebasePlayer(winStreak);
             default:
                 return null;
         }
     }
+
+    /**
+     * Tells whether {@link #buildPlayer(String, int)} understands a type string, without
+     * building a player.
+     *
+     * @param type the player type identifier.
+     * @return {@code true} if a player of this type can be built.
+     */
+    public boolean isKnownType(String type) {
+        return type != null && TYPES.contains(normalize(type));
+    }
+
+    /**
+     * Tells whether a type string identifies the human player, which reads its moves from the console.
+     *
+     * @param type the player type identifier.
+     * @return {@code true} for the human player type.
+     */
+    public boolean isHumanType(String type) {
+        return type != null && normalize(type).equals(HUMAN_TYPE);
+    }
+
+    /**
+     * Normalizes a type string for consistent matching.
+     *
+     * @param type the player type identifier.
+     * @return the identifier, trimmed and in lower case.
+     */
+    private static String normalize(String type) {
+        return type.trim().toLowerCase();
+    }
 }
@@ -11,9 +11,10 @@
  * @author Naama Even-Oz
  * @see ConsoleRenderer
  * @see VoidRenderer
+ * @see AsyncRenderer
  * @see Board
  */
-public interface Renderer {
+public interface Renderer extends AutoCloseable {
 
     /**
      * Renders the current state of the given board.
@@ -26,4 +27,27 @@ public interface Renderer {
      * @param board the {@link Board} object representing the current game state.
      */
     void renderBoard(Board board);
+
+    /**
+     * Blocks until every board passed to {@link #renderBoard(Board)} has been displayed.
+     * <p>
+     * Synchronous renderers display each board before returning, so by default
+     * this does nothing. {@link AsyncRenderer} overrides it to wait for its background thread.
+     * </p>
+     */
+    default void flush() {
+        // Nothing is pending for synchronous renderers.
+    }
+
+    /**
+     * Releases the resources of this renderer, after displaying every pending board.
+     * <p>
+     * Synchronous renderers hold no resources, so by default this does nothing.
+     * {@link AsyncRenderer} overrides it to stop its background thread.
+     * </p>
+     */
+    @Override
+    default void close() {
+        // Nothing to release for synchronous renderers.
+    }
 }
@@ -10,6 +10,9 @@
  *     <li>{@value #CONSOLE_TYPE} – creates a {@link ConsoleRenderer} that displays the board on screen.</li>
  *     <li>{@value #VOID_TYPE} – creates a {@link VoidRenderer}
  *     that performs no rendering (used for simulations).</li>
+ *     <li>{@value #ASYNC_TYPE}, {@value #ASYNC_DROP_TYPE}, {@value #ASYNC_LATEST_TYPE} – create an
+ *     {@link AsyncRenderer} that draws a {@link ConsoleRenderer} on a background thread, blocking,
+ *     dropping intermediate frames or keeping only the latest frame when it falls behind.</li>
  * </ul>
  *
  * <p>This design demonstrates <b>Abstraction</b> and <b>Encapsulation</b>:
@@ -19,6 +22,7 @@
  * @see Renderer
  * @see ConsoleRenderer
  * @see VoidRenderer
+ * @see AsyncRenderer
  */
 public class RendererFactory {
 
@@ -28,6 +32,18 @@ public class RendererFactory {
     /** Identifier for creating a void renderer. */
     private static final String VOID_TYPE = "void";
 
+    /** Identifier for creating an asynchronous console renderer that never drops frames. */
+    private static final String ASYNC_TYPE = "async";
+
+    /** Identifier for creating an asynchronous console renderer that drops intermediate frames. */
+    private static final String ASYNC_DROP_TYPE = "async-drop";
+
+    /** Identifier for creating an asynchronous console renderer that keeps only the latest frame. */
+    private static final String ASYNC_LATEST_TYPE = "async-latest";
+
+    /** Number of frames an asynchronous renderer buffers. */
+    private static final int ASYNC_CAPACITY = 64;
+
     /** Default constructor for RendererFactory. */
     public RendererFactory() {}
 
@@ -36,10 +52,13 @@ public class RendererFactory {
      * <p>
      * If the type is {@value #CONSOLE_TYPE}, a {@link ConsoleRenderer} of the given size is created.
      * If the type is {@value #VOID_TYPE}, a {@link VoidRenderer} is created.
+     * If the type is one of the asynchronous types, an {@link AsyncRenderer} wrapping
+     * a {@link ConsoleRenderer} of the given size is created.
      * If the type is invalid, the method returns {@code null}.
      * </p>
      *
-     * @param type the renderer type identifier ({@value #CONSOLE_TYPE} or {@value #VOID_TYPE}).
+     * @param type the renderer type identifier ({@value #CONSOLE_TYPE}, {@value #VOID_TYPE},
+     *             {@value #ASYNC_TYPE}, {@value #ASYNC_DROP_TYPE} or {@value #ASYNC_LATEST_TYPE}).
      * @param size the board size used when creating a console renderer.
      * @return a {@link Renderer} instance matching the given type, or {@code null} if invalid.
      */
@@ -59,6 +78,18 @@ public class RendererFactory {
             case VOID_TYPE:
                 return new VoidRenderer();
 
+            case ASYNC_TYPE:
+                return new AsyncRenderer(new ConsoleRenderer(size), ASYNC_CAPACITY,
+                        AsyncRenderer.OverflowPolicy.BLOCK);
+
+            case ASYNC_DROP_TYPE:
+                return new AsyncRenderer(new ConsoleRenderer(size), ASYNC_CAPACITY,
+                        AsyncRenderer.OverflowPolicy.DROP_INTERMEDIATE);
+
+            case ASYNC_LATEST_TYPE:
+                return new AsyncRenderer(new ConsoleRenderer(size), ASYNC_CAPACITY,
+                        AsyncRenderer.OverflowPolicy.LATEST_ONLY);
+
             default:
                 return null;
         }
@@ -0,0 +1,245 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Plays ranges of rounds between two players: the building block shared by {@link Tournament}
+ * and {@link League}.
+ * <p>
+ * Rounds are identified by their global index, so that any range of rounds is played exactly
+ * as in one long serial run: even-numbered rounds → the first player starts as X,
+ * odd-numbered rounds → the second player starts as X, and with a {@link #setSeed(long) seed},
+ * the players are reseeded from the round index. Parallel callers therefore split their rounds
+ * into {@link #chunkCount(int, int)} contiguous chunks, bounded by
+ * {@link #chunkStart(int, int, int, int)}, play every chunk with its own players, and collect
+ * the chunk tallies with {@link #invokeAll(ForkJoinPool, List)}.
+ * </p>
+ *
+ * <p>The runner itself holds no per-round state, so one runner can play several ranges
+ * concurrently, provided its renderer tolerates concurrent calls.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Tournament
+ * @see League
+ */
+public final class RoundRunner {
+
+    /** Number of chunks each worker thread gets, for load balancing. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** The board size for each game. */
+    private final int size;
+
+    /** The number of marks needed to win. */
+    private final int winStreak;
+
+    /** The renderer used to display each game's board. */
+    private final Renderer renderer;
+
+    /** Whether games end as ties as soon as neither player can win. */
+    private boolean earlyDraw;
+
+    /** Whether the random players are reseeded every round from {@link #seed}. */
+    private boolean seeded;
+
+    /** The seed the per-round seeds are derived from. */
+    private long seed;
+
+    /** The writer every game is recorded to, or {@code null} if recording is off. */
+    private GameRecordWriter recorder;
+
+    /** The statistics games are reported to, or {@code null} if statistics are off. */
+    private TournamentMetrics metrics;
+
+    /**
+     * Constructs a runner for the given configuration.
+     *
+     * @param size      the board size for each game.
+     * @param winStreak the number of marks needed to win.
+     * @param renderer  the {@link Renderer} to use during games.
+     */
+    public RoundRunner(int size, int winStreak, Renderer renderer) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Turns early draw detection on or off (see {@link Game#setEarlyDraw(boolean)}).
+     *
+     * @param earlyDraw whether to end games as ties as soon as neither player can win.
+     */
+    public void setEarlyDraw(boolean earlyDraw) {
+        this.earlyDraw = earlyDraw;
+    }
+
+    /**
+     * Reseeds every {@link Seedable} player at the start of each round with a seed derived
+     * from this seed, the global round index and the player's number
+     * (see {@link SplitMix64#derive(long, long)}).
+     *
+     * @param seed the seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    /**
+     * Records every game played from now on.
+     *
+     * @param recorder the writer, or {@code null} to turn recording off.
+     */
+    public void setRecorder(GameRecordWriter recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Reports the moves and games played from now on.
+     *
+     * @param metrics the statistics, or {@code null} to turn statistics off.
+     */
+    public void setMetrics(TournamentMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Plays the rounds with global indices {@code from} (inclusive) to {@code to} (exclusive)
+     * and adds their outcomes to {@code tally}.
+     * <p>
+     * Even-numbered rounds → the first player starts as X,
+     * odd-numbered rounds → the second player starts as X.
+     * </p>
+     *
+     * @param from   the first round index to play.
+     * @param to     the round index to stop before.
+     * @param first  the first player.
+     * @param second the second player.
+     * @param tally  the tally to update, indexed by {@link Tournament#PLAYER1_WINS},
+     *               {@link Tournament#PLAYER2_WINS} and {@link Tournament#TIES}.
+     */
+    public void playRounds(int from, int to, Player first, Player second, int[] tally) {
+        MetricsRecorder metricsRecorder = (metrics != null) ? metrics.newRecorder() : null;
+        // One game (and board) is reused for all the rounds, so rounds allocate nothing
+        Game game = new Game(first, second, size, winStreak, renderer);
+        game.setEarlyDraw(earlyDraw);
+        for (int i = from; i < to; i++) {
+            boolean isEvenRound = (i % 2 == 0);
+
+            if (isEvenRound) {
+                // Player 1 starts as X
+                game.reset(first, second);
+            } else {
+                // Player 2 starts as X
+                game.reset(second, first);
+            }
+
+            if (seeded) {
+                reseed(first, 2L * i);
+                reseed(second, 2L * i + 1);
+            }
+
+            if (metricsRecorder != null) {
+                game.setMetrics(metricsRecorder,
+                        isEvenRound ? MetricsRecorder.PLAYER1 : MetricsRecorder.PLAYER2);
+            }
+
+            Mark winner = game.run();
+            if (recorder != null) {
+                recorder.writeGame(!isEvenRound, winner, game.getBoard());
+            }
+
+            if (winner == Mark.X) {
+                tally[isEvenRound ? Tournament.PLAYER1_WINS : Tournament.PLAYER2_WINS]++;
+            } else if (winner == Mark.O) {
+                tally[isEvenRound ? Tournament.PLAYER2_WINS : Tournament.PLAYER1_WINS]++;
+            } else {
+                tally[Tournament.TIES]++;
+            }
+        }
+    }
+
+    /**
+     * Checks that a player can play on boards of the given size: on a
+     * {@link BoardFactory#isSparse(int) sparse} size, only players that declare
+     * {@link Player#supportsSparseBoards()} can.
+     *
+     * @param player the player.
+     * @param size   the board size.
+     * @throws IllegalArgumentException if the player cannot play on the board size.
+     */
+    public static void checkBoardSupport(Player player, int size) {
+        if (BoardFactory.isSparse(size) && !player.supportsSparseBoards()) {
+            throw new IllegalArgumentException(player.getClass().getSimpleName()
+                    + " keeps per-cell or per-window state and cannot play on a " + size + "x" + size
+                    + " board (boards of " + BoardFactory.SPARSE_MIN_SIZE + "x" + BoardFactory.SPARSE_MIN_SIZE
+                    + " or more are sparse)");
+        }
+    }
+
+    /**
+     * Returns how many chunks a range of rounds is split into on a given number of worker
+     * threads: several per thread, so that threads finishing early pick up the remaining
+     * chunks, but never more than one chunk per round.
+     *
+     * @param rounds  the number of rounds in the range.
+     * @param threads the number of worker threads.
+     * @return the number of chunks.
+     */
+    public static int chunkCount(int rounds, int threads) {
+        return (int) Math.min(rounds, (long) threads * CHUNKS_PER_THREAD);
+    }
+
+    /**
+     * Returns where a chunk starts when a range of rounds is split into contiguous chunks
+     * of (almost) equal length. Chunk {@code c} covers {@code chunkStart(first, last, chunks, c)}
+     * (inclusive) to {@code chunkStart(first, last, chunks, c + 1)} (exclusive).
+     *
+     * @param first  the first round index of the range.
+     * @param last   the round index to stop before.
+     * @param chunks the number of chunks.
+     * @param chunk  the chunk number, from 0 to {@code chunks} (the end of the last chunk).
+     * @return the first round index of the chunk.
+     */
+    public static int chunkStart(int first, int last, int chunks, int chunk) {
+        return first + (int) ((long) (last - first) * chunk / chunks);
+    }
+
+    /**
+     * Runs tasks that each play a chunk of rounds on a pool and waits for their tallies.
+     *
+     * @param pool  the pool to play on.
+     * @param tasks the tasks, each returning its chunk's tally.
+     * @return the tallies, in the order of the tasks.
+     * @throws IllegalStateException if the wait is interrupted or a round fails.
+     */
+    public static List<int[]> invokeAll(ForkJoinPool pool, List<Callable<int[]>> tasks) {
+        List<int[]> tallies = new ArrayList<>(tasks.size());
+        try {
+            for (Future<int[]> result : pool.invokeAll(tasks)) {
+                tallies.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rounds interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Round failed", e.getCause());
+        }
+        return tallies;
+    }
+
+    /**
+     * Reseeds a player for the next round, if its moves are random.
+     *
+     * @param player the player.
+     * @param stream the player's random stream number for this round.
+     */
+    private void reseed(Player player, long stream) {
+        if (player instanceof Seedable) {
+            ((Seedable) player).setSeed(SplitMix64.derive(seed, stream));
+        }
+    }
+}
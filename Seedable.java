@@ -0,0 +1,22 @@
+/**
+ * A player whose random choices can be made reproducible.
+ * <p>
+ * {@link Tournament} reseeds every seedable player at the start of each round with a seed
+ * derived from the tournament seed and the round index (see {@link Tournament#setSeed(long)}),
+ * so a seeded tournament plays the same games whether its rounds run serially or in parallel.
+ * Players without randomness need not implement this interface.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see Player
+ * @see SplitMix64
+ */
+public interface Seedable {
+
+    /**
+     * Restarts the player's random choices from the given seed.
+     *
+     * @param seed the seed.
+     */
+    void setSeed(long seed);
+}
@@ -0,0 +1,213 @@
+/**
+ * A sequential probability ratio test (SPRT) deciding whether one of two players is stronger.
+ * <p>
+ * Every game scores 1 for a win, 1/2 for a tie and 0 for a loss. For each player, an SPRT
+ * weighs the hypothesis that the player's expected score is {@code s0 = 1/2} (an even match)
+ * against {@code s1 = 1/2 + delta} (the player is stronger), using the generalized SPRT
+ * log-likelihood ratio of the observed win/tie/loss counts:
+ * <pre>
+ * LLR = n * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance)
+ * </pre>
+ * where {@code mean} is the player's per-game score and {@code variance} its per-game score
+ * variance, estimated with one extra pseudo-game of each outcome so that one-sided results
+ * (all wins, or all ties) do not make it vanish. No verdict is reached before
+ * {@value #MIN_GAMES} games, while the variance estimate is still unreliable.
+ * A test accepts its alternative when the ratio reaches {@code ln((1 - beta) / alpha)} and the
+ * even match when it falls to {@code ln(beta / (1 - alpha))}. The overall verdict is that a
+ * player is stronger once its test accepts the alternative, or that the match is even (no
+ * difference of {@code delta} or more) once both tests accept the even match.
+ * Pick {@code delta} as the smallest score difference worth detecting: the smaller it is,
+ * the more games a verdict takes.
+ * </p>
+ *
+ * <p>{@link #wilsonLower(long, long)} and {@link #wilsonUpper(long, long)} give the 95% Wilson
+ * score intervals that {@link Tournament} prints with its progress reports.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Tournament#setSequentialTest(SequentialTest)
+ */
+public class SequentialTest {
+
+    /** Verdict while the evidence is not conclusive yet. */
+    public static final int CONTINUE = 0;
+
+    /** Verdict when player 1 is the stronger player. */
+    public static final int PLAYER1_STRONGER = 1;
+
+    /** Verdict when player 2 is the stronger player. */
+    public static final int PLAYER2_STRONGER = 2;
+
+    /** Verdict when neither player is stronger by the score margin. */
+    public static final int EVEN = 3;
+
+    /** The default score margin: 5 percentage points above an even match. */
+    public static final double DEFAULT_DELTA = 0.05;
+
+    /** The default error rate of each verdict. */
+    public static final double DEFAULT_ERROR_RATE = 0.05;
+
+    /** The number of games before which {@link #decide(long, long, long)} always continues. */
+    public static final int MIN_GAMES = 30;
+
+    /** The normal quantile of the 95% confidence intervals. */
+    private static final double Z_95 = 1.959964;
+
+    /** Pseudo-games of each outcome added to the variance estimate, so it never vanishes. */
+    private static final double PSEUDO_GAMES = 1;
+
+    /** A player's expected score under the hypothesis of an even match. */
+    private static final double SCORE0 = 0.5;
+
+    /** A player's expected score under the hypothesis that it is stronger. */
+    private final double score1;
+
+    /** The log-likelihood ratio at or below which a test accepts the even match. */
+    private final double lowerBound;
+
+    /** The log-likelihood ratio at or above which a test finds its player stronger. */
+    private final double upperBound;
+
+    /** Constructs a test with the default margin and error rates. */
+    public SequentialTest() {
+        this(DEFAULT_DELTA, DEFAULT_ERROR_RATE, DEFAULT_ERROR_RATE);
+    }
+
+    /**
+     * Constructs a test.
+     *
+     * @param delta the score margin of the hypotheses, between 0 and 1/2 (exclusive).
+     * @param alpha the probability that a test finds its player stronger in an even match.
+     * @param beta  the probability that a test misses a player stronger by {@code delta}.
+     * @throws IllegalArgumentException if a parameter is out of range.
+     */
+    public SequentialTest(double delta, double alpha, double beta) {
+        if (!(delta > 0 && delta < 0.5) || !(alpha > 0 && alpha < 1) || !(beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("Invalid SPRT parameters: delta " + delta
+                    + ", alpha " + alpha + ", beta " + beta);
+        }
+        this.score1 = SCORE0 + delta;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Returns the log-likelihood ratio of the hypothesis that a player is stronger, against
+     * the hypothesis of an even match. Swap the wins and losses for the other player.
+     *
+     * @param wins   the player's wins.
+     * @param ties   the ties.
+     * @param losses the player's losses, i.e. the opponent's wins.
+     * @return the ratio; 0 before any game.
+     */
+    public double logLikelihoodRatio(long wins, long ties, long losses) {
+        long games = wins + ties + losses;
+        if (games == 0) {
+            return 0;
+        }
+        double mean = (wins + 0.5 * ties) / games;
+        return games * (score1 - SCORE0) * (2 * mean - SCORE0 - score1) / (2 * variance(wins, ties, losses));
+    }
+
+    /**
+     * Estimates the per-game score variance, counting {@link #PSEUDO_GAMES} extra games of
+     * each outcome. Without them, a sample of only wins (or only ties) has zero variance,
+     * and the ratio of the very first games would be unbounded.
+     *
+     * @param wins   the player's wins.
+     * @param ties   the ties.
+     * @param losses the player's losses.
+     * @return the variance, positive.
+     */
+    private static double variance(long wins, long ties, long losses) {
+        double w = wins + PSEUDO_GAMES;
+        double t = ties + PSEUDO_GAMES;
+        double l = losses + PSEUDO_GAMES;
+        double games = w + t + l;
+        double mean = (w + 0.5 * t) / games;
+        return (w * (1 - mean) * (1 - mean) + t * (0.5 - mean) * (0.5 - mean) + l * mean * mean) / games;
+    }
+
+    /**
+     * Decides the test on the results so far; always {@link #CONTINUE} before
+     * {@value #MIN_GAMES} games.
+     *
+     * @param wins   player 1's wins.
+     * @param ties   the ties.
+     * @param losses player 1's losses, i.e. player 2's wins.
+     * @return {@link #PLAYER1_STRONGER}, {@link #PLAYER2_STRONGER}, {@link #EVEN} or {@link #CONTINUE}.
+     */
+    public int decide(long wins, long ties, long losses) {
+        if (wins + ties + losses < MIN_GAMES) {
+            return CONTINUE;
+        }
+        double llr1 = logLikelihoodRatio(wins, ties, losses);
+        double llr2 = logLikelihoodRatio(losses, ties, wins);
+        if (llr1 >= upperBound) {
+            return PLAYER1_STRONGER;
+        }
+        if (llr2 >= upperBound) {
+            return PLAYER2_STRONGER;
+        }
+        return (llr1 <= lowerBound && llr2 <= lowerBound) ? EVEN : CONTINUE;
+    }
+
+    /**
+     * Returns the log-likelihood ratio at or below which a test accepts the even match.
+     *
+     * @return the lower stopping bound (negative).
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the log-likelihood ratio at or above which a test finds its player stronger.
+     *
+     * @return the upper stopping bound (positive).
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Returns the lower end of the 95% Wilson score interval of a proportion.
+     *
+     * @param successes the number of successes.
+     * @param trials    the number of trials.
+     * @return the lower bound, or 0 without trials.
+     */
+    public static double wilsonLower(long successes, long trials) {
+        return wilson(successes, trials, -1);
+    }
+
+    /**
+     * Returns the upper end of the 95% Wilson score interval of a proportion.
+     *
+     * @param successes the number of successes.
+     * @param trials    the number of trials.
+     * @return the upper bound, or 1 without trials.
+     */
+    public static double wilsonUpper(long successes, long trials) {
+        return wilson(successes, trials, 1);
+    }
+
+    /**
+     * Computes one end of the 95% Wilson score interval.
+     *
+     * @param successes the number of successes.
+     * @param trials    the number of trials.
+     * @param sign      -1 for the lower end, 1 for the upper end.
+     * @return the bound, clamped to [0, 1].
+     */
+    private static double wilson(long successes, long trials, int sign) {
+        if (trials == 0) {
+            return (sign < 0) ? 0 : 1;
+        }
+        double p = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double center = p + z2 / (2.0 * trials);
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials));
+        double bound = (center + sign * margin) / (1 + z2 / trials);
+        return Math.min(1, Math.max(0, bound));
+    }
+}
@@ -1,5 +1,3 @@
-import java.util.Random;
-
 /**
  * A smart automatic player for Tic-Tac-Toe.
  * <p>
@@ -8,9 +6,10 @@ import java.util.Random;
  * and finally selects strategic or random positions when no immediate win is available.
  * </p>
  *
- * <p>This implementation is designed for the default configuration
- * (board size = 4, winStreak = 3) as specified in the assignment instructions.
- * For non-default sizes, the player gracefully falls back to random moves.</p>
+ * <p>The strategy was designed for the default configuration
+ * (board size = 4, winStreak = 3) as specified in the assignment instructions,
+ * but win and block detection use a {@link ThreatIndex}, so it works for any
+ * board size and win streak given at construction.</p>
  *
  * <p>Demonstrates advanced OOP concepts such as <b>Encapsulation</b>,
  * <b>Abstraction</b>, and <b>Polymorphism</b>, while maintaining clean
@@ -20,20 +19,46 @@ import java.util.Random;
  * @see Player
  * @see Board
  * @see Mark
+ * @see ThreatIndex
+ * @see Seedable
  */
-public class SmartPlayer implements Player {
+public class SmartPlayer implements Player, Seedable {
 
-    /** The default board size supported by this player. */
-    private static final int DEFAULT_SIZE = 4;
+    /** The winning streak length used by the no-arg constructor. */
+    private static final int DEFAULT_WIN_STREAK = 3;
 
-    /** The winning streak length supported by this player. */
-    private static final int WIN_STREAK = 3;
+    /** The number of consecutive marks required to win. */
+    private final int winStreak;
 
     /** Random number generator for fallback moves. */
-    private final Random random = new Random();
+    private final SplitMix64 random = new SplitMix64();
+
+    /** Window counts of the board being played, kept up to date incrementally. */
+    private ThreatIndex threatIndex;
+
+    /** Default constructor for SmartPlayer, for the default win streak of 3. */
+    public SmartPlayer() {
+        this(DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * Constructs a SmartPlayer for the given win streak.
+     *
+     * @param winStreak the number of marks needed in a row to win.
+     */
+    public SmartPlayer(int winStreak) {
+        this.winStreak = winStreak;
+    }
 
-    /** Default constructor for SmartPlayer. */
-    public SmartPlayer() {}
+    /**
+     * Restarts the sequence of random fallback moves from the given seed.
+     *
+     * @param seed the seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
 
     /**
      * Plays a single turn according to the smart player's strategy.
@@ -56,23 +81,22 @@ public class SmartPlayer implements Player {
         int size = board.getSize();
         Mark opponent = (mark == Mark.X) ? Mark.O : Mark.X;
 
-        // Fallback to random play if board size is not default
-        if (size != DEFAULT_SIZE) {
-            randomFallback(board, mark);
-            return;
+        if (threatIndex == null || threatIndex.getSize() != size) {
+            threatIndex = new ThreatIndex(size, winStreak);
         }
+        threatIndex.sync(board);
 
         // 1. Try to win
-        int[] move = findWinningMove(board, mark);
-        if (move != null) {
-            board.putMark(mark, move[0], move[1]);
+        int move = threatIndex.findCompletingCell(mark);
+        if (move != Board.NO_MOVE) {
+            board.putMark(mark, move / size, move % size);
             return;
         }
 
         // 2. Try to block opponent
-        move = findWinningMove(board, opponent);
-        if (move != null) {
-            board.putMark(mark, move[0], move[1]);
+        move = threatIndex.findCompletingCell(opponent);
+        if (move != Board.NO_MOVE) {
+            board.putMark(mark, move / size, move % size);
             return;
         }
 
@@ -83,123 +107,20 @@ public class SmartPlayer implements Player {
         }
 
         // 4. Try corners
-        int[][] corners = {
-                {0, 0},
-                {0, size - 1},
-                {size - 1, 0},
-                {size - 1, size - 1}
-        };
-
-        for (int[] corner : corners) {
-            if (board.putMark(mark, corner[0], corner[1])) {
-                return;
-            }
+        int last = size - 1;
+        if (board.putMark(mark, 0, 0) || board.putMark(mark, 0, last)
+                || board.putMark(mark, last, 0) || board.putMark(mark, last, last)) {
+            return;
         }
 
         // 5. Random move if all else fails
         randomFallback(board, mark);
     }
 
-    /**
-     * Searches for a move that would either win the game
-     * for the given mark or block the opponent’s win.
-     * <p>
-     * This method checks all possible rows, columns, and diagonals
-     * for a near-complete sequence of WIN_STREAK - 1 marks
-     * with one remaining blank cell.
-     * </p>
-     *
-     * @param board the current {@link Board}.
-     * @param mark  the {@link Mark} to check (X or O).
-     * @return an array containing the winning move coordinates [row, col], or null if none found.
-     */
-    private int[] findWinningMove(Board board, Mark mark) {
-        int size = board.getSize();
-
-        /* Check rows */
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col <= size - WIN_STREAK; col++) {
-                int countMark = 0, countEmpty = 0, emptyCol = -1;
-                for (int k = 0; k < WIN_STREAK; k++) {
-                    Mark cell = board.getMark(row, col + k);
-                    if (cell == mark) {
-                        countMark++;
-                    } else if (cell == Mark.BLANK) {
-                        countEmpty++;
-                        emptyCol = col + k;
-                    }
-                }
-                if (countMark == WIN_STREAK - 1 && countEmpty == 1) {
-                    return new int[]{row, emptyCol};
-                }
-            }
-        }
-
-        /* Check columns */
-        for (int col = 0; col < size; col++) {
-            for (int row = 0; row <= size - WIN_STREAK; row++) {
-                int countMark = 0, countEmpty = 0, emptyRow = -1;
-                for (int k = 0; k < WIN_STREAK; k++) {
-                    Mark cell = board.getMark(row + k, col);
-                    if (cell == mark) {
-                        countMark++;
-                    } else if (cell == Mark.BLANK) {
-                        countEmpty++;
-                        emptyRow = row + k;
-                    }
-                }
-                if (countMark == WIN_STREAK - 1 && countEmpty == 1) {
-                    return new int[]{emptyRow, col};
-                }
-            }
-        }
-
-        /* Check diagonals ↘ */
-        for (int row = 0; row <= size - WIN_STREAK; row++) {
-            for (int col = 0; col <= size - WIN_STREAK; col++) {
-                int countMark = 0, countEmpty = 0, empty = -1;
-                for (int k = 0; k < WIN_STREAK; k++) {
-                    Mark cell = board.getMark(row + k, col + k);
-                    if (cell == mark) {
-                        countMark++;
-                    } else if (cell == Mark.BLANK) {
-                        countEmpty++;
-                        empty = k;
-                    }
-                }
-                if (countMark == WIN_STREAK - 1 && countEmpty == 1) {
-                    return new int[]{row + empty, col + empty};
-                }
-            }
-        }
-
-        /* Check diagonals ↙ */
-        for (int row = 0; row <= size - WIN_STREAK; row++) {
-            for (int col = WIN_STREAK - 1; col < size; col++) {
-                int countMark = 0, countEmpty = 0, empty = -1;
-                for (int k = 0; k < WIN_STREAK; k++) {
-                    Mark cell = board.getMark(row + k, col - k);
-                    if (cell == mark) {
-                        countMark++;
-                    } else if (cell == Mark.BLANK) {
-                        countEmpty++;
-                        empty = k;
-                    }
-                }
-                if (countMark == WIN_STREAK - 1 && countEmpty == 1) {
-                    return new int[]{row + empty, col - empty};
-                }
-            }
-        }
-
-        return null; // No winning move found
-    }
-
     /**
      * Plays a random legal move on the board.
      * <p>
-     * Used as a fallback for non-default board sizes
-     * or when no better strategic move is available.
+     * Used as a fallback when no better strategic move is available.
      * </p>
      *
      * @param board the {@link Board} object representing the current game state.
@@ -207,14 +128,9 @@ public class SmartPlayer implements Player {
      */
     private void randomFallback(Board board, Mark mark) {
         int size = board.getSize();
-
-        // Attempt random positions until a valid move is found
-        while (true) {
-            int row = random.nextInt(size);
-            int col = random.nextInt(size);
-            if (board.putMark(mark, row, col)) {
-                return;
-            }
+        int cell = board.randomEmptyCell(random);
+        if (cell != Board.NO_MOVE) {
+            board.putMark(mark, cell / size, cell % size);
         }
     }
 }
@@ -0,0 +1,315 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A board that stores only its occupied cells, for very large boards.
+ * <p>
+ * {@link DenseBoard} keeps bitboards, an empty-cell index and key tables that all grow with the
+ * board area, which rules out e.g. a 1000x1000 board, where even a random game (about 81,000
+ * moves at win streak 5) fills under a tenth of the cells. This board keeps the occupied cells
+ * in a primitive open-addressing hash map from cell index to mark, so its memory and the work
+ * per move grow with the number of moves instead.
+ * Zobrist keys are derived from the cell index on the fly rather than read from a table.
+ * </p>
+ *
+ * <p>The board behaves like a {@link DenseBoard} of the same size, with a few differences:
+ * {@link #hasStreak(Mark, int)} and {@link #getEmptyCell(int)} take time proportional to
+ * the number of marks, and hashes differ from those of a dense board of the same position.
+ * Use {@link BoardFactory} to get the right kind of board for a size.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Board
+ * @see BoardFactory
+ */
+public class SparseBoard extends Board {
+
+    /** Value of {@link #slotCells} for slots that hold no cell. */
+    private static final int FREE = -1;
+
+    /** The number of slots of a new board's map. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Seed of the Zobrist keys, fixed so that hashes are stable across runs. */
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+    /** The largest supported board size, so that cell indices fit in an {@code int}. */
+    public static final int MAX_SIZE = 46_340;
+
+    /** The cell held by each slot of the map, or {@value #FREE}. */
+    private int[] slotCells;
+
+    /** The mark of each occupied slot. */
+    private Mark[] slotMarks;
+
+    /** The position in the move history of each occupied slot's cell. */
+    private int[] slotMoves;
+
+    /** The number of bits of the slot index: the map has {@code 1 << slotBits} slots. */
+    private int slotBits;
+
+    /** Lowest cell that may still be empty (see {@link #firstEmptyCell()}). */
+    private int firstFreeCell;
+
+    /**
+     * Constructs a new empty sparse board of a given size.
+     *
+     * @param size The length/width of the square board.
+     * @throws IllegalArgumentException if the size exceeds {@value #MAX_SIZE}.
+     */
+    public SparseBoard(int size) {
+        super(size, INITIAL_CAPACITY / 2);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size " + size + " exceeds " + MAX_SIZE);
+        }
+        allocateSlots(Integer.numberOfTrailingZeros(INITIAL_CAPACITY));
+    }
+
+    /**
+     * Clears the map in time proportional to the longest game played on it, keeping its
+     * capacity so that the next game of similar length allocates nothing.
+     */
+    @Override
+    protected void clearCells() {
+        Arrays.fill(slotCells, FREE);
+        Arrays.fill(slotMarks, null);
+        firstFreeCell = 0;
+    }
+
+    @Override
+    public boolean putMark(Mark mark, int row, int col) {
+        if (!isValidPosition(row, col) || (mark != Mark.X && mark != Mark.O)) {
+            return false;
+        }
+        int cell = row * size + col;
+        int slot = findSlot(cell);
+        if (slotCells[slot] != FREE) {
+            return false;
+        }
+        if (2 * (getMoveCount() + 1) > slotCells.length) {
+            allocateSlots(slotBits + 1);
+            slot = findSlot(cell);
+        }
+        slotCells[slot] = cell;
+        slotMarks[slot] = mark;
+        recordPut(mark, row, col);
+        return true;
+    }
+
+    @Override
+    public boolean removeMark(int row, int col) {
+        if (!isValidPosition(row, col)) {
+            return false;
+        }
+        int cell = row * size + col;
+        int slot = findSlot(cell);
+        if (slotCells[slot] == FREE) {
+            return false;
+        }
+        recordRemove(slotMarks[slot], cell);
+        deleteSlot(slot);
+        firstFreeCell = Math.min(firstFreeCell, cell);
+        return true;
+    }
+
+    /**
+     * Returns the empty cell at the given position in row-major order.
+     * <p>
+     * Unlike on a dense board, the order is fixed, and finding the cell takes time
+     * proportional to the number of marks.
+     * </p>
+     *
+     * @param index a position between 0 (inclusive) and {@link #emptyCount()} (exclusive).
+     * @return the cell index {@code row * size + col} of an empty cell.
+     */
+    @Override
+    public int getEmptyCell(int index) {
+        // The smallest cell c with c = index + (marks on cells up to c) is the index-th empty cell
+        int cell = index;
+        while (true) {
+            int next = index + countMarksUpTo(cell);
+            if (next == cell) {
+                return cell;
+            }
+            cell = next;
+        }
+    }
+
+    @Override
+    public int firstEmptyCell() {
+        int cells = size * size;
+        while (firstFreeCell < cells && slotCells[findSlot(firstFreeCell)] != FREE) {
+            firstFreeCell++;
+        }
+        return (firstFreeCell < cells) ? firstFreeCell : NO_MOVE;
+    }
+
+    /**
+     * Draws an empty cell uniformly at random.
+     * <p>
+     * While at most half of the board is filled, random cells are drawn until an empty one
+     * comes up, which takes fewer than two draws on average. Fuller boards fall back to
+     * {@link #getEmptyCell(int)}.
+     * </p>
+     *
+     * @param random the random generator to draw with.
+     * @return the cell index {@code row * size + col} of an empty cell,
+     * or {@value Board#NO_MOVE} if the board is full.
+     */
+    @Override
+    public int randomEmptyCell(RandomGenerator random) {
+        int cells = size * size;
+        int empty = emptyCount();
+        if (empty == 0) {
+            return NO_MOVE;
+        }
+        if (2 * getMoveCount() > cells) {
+            return getEmptyCell(random.nextInt(empty));
+        }
+        while (true) {
+            int cell = random.nextInt(cells);
+            if (slotCells[findSlot(cell)] == FREE) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Copies the map of another sparse board slot by slot.
+     *
+     * @param other the board to copy.
+     * @return false if the other board is not a sparse board.
+     */
+    @Override
+    protected boolean copyCellsFrom(Board other) {
+        if (!(other instanceof SparseBoard)) {
+            return false;
+        }
+        SparseBoard sparse = (SparseBoard) other;
+        if (slotCells.length != sparse.slotCells.length) {
+            slotBits = sparse.slotBits;
+            slotCells = new int[sparse.slotCells.length];
+            slotMarks = new Mark[sparse.slotMarks.length];
+            slotMoves = new int[sparse.slotMoves.length];
+        }
+        System.arraycopy(sparse.slotCells, 0, slotCells, 0, slotCells.length);
+        System.arraycopy(sparse.slotMarks, 0, slotMarks, 0, slotMarks.length);
+        System.arraycopy(sparse.slotMoves, 0, slotMoves, 0, slotMoves.length);
+        firstFreeCell = sparse.firstFreeCell;
+        return true;
+    }
+
+    @Override
+    public Mark getMark(int cell) {
+        Mark mark = slotMarks[findSlot(cell)];
+        return (mark == null) ? Mark.BLANK : mark;
+    }
+
+    /**
+     * Derives the key from the cell index, so that no table grows with the board area.
+     */
+    @Override
+    protected long zobristKey(int cell, int m) {
+        return SplitMix64.derive(ZOBRIST_SEED, 2L * cell + m);
+    }
+
+    @Override
+    protected int movePosition(int cell) {
+        return slotMoves[findSlot(cell)];
+    }
+
+    @Override
+    protected void setMovePosition(int cell, int position) {
+        slotMoves[findSlot(cell)] = position;
+    }
+
+    /**
+     * Returns the slot holding a cell, or the free slot where it would be inserted.
+     *
+     * @param cell the cell index.
+     * @return the slot.
+     */
+    private int findSlot(int cell) {
+        int mask = slotCells.length - 1;
+        int slot = home(cell);
+        while (slotCells[slot] != FREE && slotCells[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the first slot probed for a cell (Fibonacci hashing).
+     *
+     * @param cell the cell index.
+     * @return the home slot.
+     */
+    private int home(int cell) {
+        return (cell * 0x9E3779B9) >>> (Integer.SIZE - slotBits);
+    }
+
+    /**
+     * Empties a slot, shifting later slots of the same probe run back so that no lookup
+     * stops early at the hole.
+     *
+     * @param slot an occupied slot.
+     */
+    private void deleteSlot(int slot) {
+        int mask = slotCells.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slotCells[next] != FREE; next = (next + 1) & mask) {
+            int home = home(slotCells[next]);
+            // Move the entry into the hole unless its home lies cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slotCells[hole] = slotCells[next];
+                slotMarks[hole] = slotMarks[next];
+                slotMoves[hole] = slotMoves[next];
+                hole = next;
+            }
+        }
+        slotCells[hole] = FREE;
+        slotMarks[hole] = null;
+    }
+
+    /**
+     * Replaces the map with an empty one of {@code 1 << bits} slots and re-inserts the marks.
+     *
+     * @param bits the number of bits of the slot index.
+     */
+    private void allocateSlots(int bits) {
+        Mark[] oldMarks = slotMarks;
+        int[] oldCells = slotCells;
+        int[] oldMoves = slotMoves;
+        slotBits = bits;
+        slotCells = new int[1 << bits];
+        slotMarks = new Mark[1 << bits];
+        slotMoves = new int[1 << bits];
+        Arrays.fill(slotCells, FREE);
+        if (oldCells == null) {
+            return;
+        }
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != FREE) {
+                int slot = findSlot(oldCells[i]);
+                slotCells[slot] = oldCells[i];
+                slotMarks[slot] = oldMarks[i];
+                slotMoves[slot] = oldMoves[i];
+            }
+        }
+    }
+
+    /**
+     * Counts the marks on cells up to and including the given one.
+     *
+     * @param cell the cell index.
+     * @return the number of marks on cells {@code 0..cell}.
+     */
+    private int countMarksUpTo(int cell) {
+        int count = 0;
+        for (int i = 0; i < getMoveCount(); i++) {
+            if (getMove(i) <= cell) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
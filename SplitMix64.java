@@ -0,0 +1,84 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A small, fast, reseedable random generator (SplitMix64).
+ * <p>
+ * The state is a single {@code long} advanced by a constant step and scrambled on output,
+ * the same algorithm {@link SplittableRandom} uses. Unlike {@link java.util.Random}, it has
+ * no atomic state, and unlike {@link SplittableRandom}, it can be reseeded in place, so a
+ * player can start every round of a tournament from a new seed without allocating.
+ * </p>
+ *
+ * <p>The generator is not thread-safe; every player owns its own.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Seedable
+ * @see Tournament#setSeed(long)
+ */
+public final class SplitMix64 implements RandomGenerator {
+
+    /** The state increment: the odd integer closest to 2^64 divided by the golden ratio. */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The current state. */
+    private long state;
+
+    /** Constructs a generator with an unpredictable seed. */
+    public SplitMix64() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a generator with the given seed.
+     *
+     * @param seed the initial seed.
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Restarts the sequence from the given seed.
+     *
+     * @param seed the new seed.
+     */
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Returns the next pseudo-random {@code long}.
+     *
+     * @return a uniformly distributed {@code long}.
+     */
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * Derives an independent seed from a base seed and a stream number, e.g. a round index.
+     * Nearby stream numbers give unrelated seeds.
+     *
+     * @param seed   the base seed.
+     * @param stream the stream number.
+     * @return the derived seed.
+     */
+    public static long derive(long seed, long stream) {
+        return mix(seed + (stream + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles a value with the SplitMix64 finalizer.
+     *
+     * @param z the value.
+     * @return the scrambled value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * A memory-mapped table of the perfect move and game value of every position of a small board.
+ * <p>
+ * The table is written by {@link TablebaseGenerator}. Positions are indexed densely in base 3:
+ * each cell contributes {@code digit * 3^cell}, with digit 0 for a blank cell, 1 for X and 2 for O,
+ * so a position's entry is found with a single read. The file layout is:
+ * <pre>
+ * "TTTB"  magic bytes
+ * i32     format version
+ * i32     board size
+ * i32     win streak
+ * u8[3^(size*size)]  one entry per position:
+ *         bits 0-1  value for the player to move ({@link #UNKNOWN}, {@link #WIN}, {@link #DRAW}, {@link #LOSS})
+ *         bits 2-7  the cell index of a best move
+ * </pre>
+ * Only positions reachable with X moving first and the game still running are solved; all
+ * other entries are {@link #UNKNOWN}. Among the winning moves, the best move wins fastest;
+ * among the losing ones, it loses slowest.
+ * </p>
+ *
+ * <p>Tables are mapped read-only and shared by all players of the process
+ * (see {@link #forConfig(int, int)}); lookups are thread-safe.</p>
+ *
+ * @author Naama Even-Oz
+ * @see TablebaseGenerator
+ * @see TablebasePlayer
+ */
+public final class Tablebase {
+
+    /** Value of positions that were not solved. */
+    public static final int UNKNOWN = 0;
+
+    /** Value of positions the player to move wins with perfect play. */
+    public static final int WIN = 1;
+
+    /** Value of positions that end in a tie with perfect play. */
+    public static final int DRAW = 2;
+
+    /** Value of positions the player to move loses against perfect play. */
+    public static final int LOSS = 3;
+
+    /** The largest number of cells a dense table supports (3^16 entries, about 43 MB). */
+    public static final int MAX_CELLS = 16;
+
+    /** The magic bytes every tablebase file starts with. */
+    static final byte[] MAGIC = {'T', 'T', 'T', 'B'};
+
+    /** The current format version. */
+    static final int VERSION = 1;
+
+    /** The number of header bytes before the first entry. */
+    static final int HEADER_BYTES = MAGIC.length + 3 * Integer.BYTES;
+
+    /** The number of bits of an entry holding the value. */
+    static final int VALUE_BITS = 2;
+
+    /** Mask of the value bits of an entry. */
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    /** The system property naming the directory of the tablebase files. */
+    public static final String DIRECTORY_PROPERTY = "tablebase.dir";
+
+    /** The base-3 digit of X. */
+    static final int X_DIGIT = 1;
+
+    /** The base-3 digit of O. */
+    static final int O_DIGIT = 2;
+
+    /** The tables loaded so far, keyed by {@code size << 32 | winStreak}; empty if there is no file. */
+    private static final Map<Long, Optional<Tablebase>> TABLES = new ConcurrentHashMap<>();
+
+    /** Logs the configurations played without a tablebase. */
+    private static final Logger LOGGER = Logger.getLogger(Tablebase.class.getName());
+
+    private final int size;
+    private final int winStreak;
+
+    /** The mapped file contents. */
+    private final ByteBuffer entries;
+
+    /** {@code powers[c]} is 3 to the power of {@code c}. */
+    private final int[] powers;
+
+    /**
+     * Wraps the mapped contents of a tablebase file.
+     *
+     * @param size      the board size.
+     * @param winStreak the win streak.
+     * @param entries   the whole file.
+     */
+    private Tablebase(int size, int winStreak, ByteBuffer entries) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.entries = entries;
+        this.powers = powersOfThree(size * size);
+    }
+
+    /**
+     * Maps a tablebase file and checks its header.
+     *
+     * @param path the tablebase file.
+     * @return the table.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid tablebase.
+     */
+    public static Tablebase load(Path path) {
+        ByteBuffer entries;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read tablebase " + path, e);
+        }
+        if (entries.limit() < HEADER_BYTES) {
+            throw new IllegalArgumentException(path + " is not a tablebase file");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (entries.get(i) != MAGIC[i]) {
+                throw new IllegalArgumentException(path + " is not a tablebase file");
+            }
+        }
+        int version = entries.getInt(MAGIC.length);
+        int size = entries.getInt(MAGIC.length + Integer.BYTES);
+        int winStreak = entries.getInt(MAGIC.length + 2 * Integer.BYTES);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported tablebase version " + version);
+        }
+        if (size < 1 || size * size > MAX_CELLS
+                || entries.limit() != HEADER_BYTES + powersOfThree(size * size)[size * size]) {
+            throw new IllegalArgumentException(path + " has an invalid size or length");
+        }
+        return new Tablebase(size, winStreak, entries);
+    }
+
+    /**
+     * Returns the shared table of a configuration, loading it on first use from
+     * {@link #defaultPath(int, int)}. A missing file is logged once per configuration.
+     *
+     * @param size      the board size.
+     * @param winStreak the win streak.
+     * @return the table, or {@code null} if there is no valid tablebase file for the configuration.
+     */
+    public static Tablebase forConfig(int size, int winStreak) {
+        long key = ((long) size << 32) | winStreak;
+        return TABLES.computeIfAbsent(key, k -> {
+            Path path = defaultPath(size, winStreak);
+            if (!Files.isRegularFile(path)) {
+                LOGGER.info("No tablebase at " + path + "; falling back to alpha-beta search");
+                return Optional.empty();
+            }
+            Tablebase table = load(path);
+            if (table.size != size || table.winStreak != winStreak) {
+                throw new IllegalArgumentException(path + " holds a tablebase for size "
+                        + table.size + " and win streak " + table.winStreak);
+            }
+            return Optional.of(table);
+        }).orElse(null);
+    }
+
+    /**
+     * Returns where the tablebase of a configuration is stored: the file
+     * {@code tablebase-<size>-<winStreak>.bin} in the directory given by the
+     * {@value #DIRECTORY_PROPERTY} system property, or the working directory.
+     *
+     * @param size      the board size.
+     * @param winStreak the win streak.
+     * @return the file path.
+     */
+    public static Path defaultPath(int size, int winStreak) {
+        return Paths.get(System.getProperty(DIRECTORY_PROPERTY, "."),
+                "tablebase-" + size + "-" + winStreak + ".bin");
+    }
+
+    /**
+     * Returns the board size of this table.
+     *
+     * @return the board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the win streak of this table.
+     *
+     * @return the number of marks needed in a row to win.
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * Returns the entry of a board's position.
+     *
+     * @param board a board of this table's size.
+     * @return the entry; decode it with {@link #valueOf(int)} and {@link #moveOf(int)}.
+     */
+    public int lookup(Board board) {
+        int index = 0;
+        for (int i = 0; i < board.getMoveCount(); i++) {
+            int cell = board.getMove(i);
+            index += (board.getMark(cell) == Mark.X ? X_DIGIT : O_DIGIT) * powers[cell];
+        }
+        return entries.get(HEADER_BYTES + index) & 0xFF;
+    }
+
+    /**
+     * Returns the value stored in an entry.
+     *
+     * @param entry an entry returned by {@link #lookup(Board)}.
+     * @return {@link #UNKNOWN}, {@link #WIN}, {@link #DRAW} or {@link #LOSS}.
+     */
+    public static int valueOf(int entry) {
+        return entry & VALUE_MASK;
+    }
+
+    /**
+     * Returns the best move stored in an entry.
+     *
+     * @param entry an entry returned by {@link #lookup(Board)}, with a known value.
+     * @return the cell index {@code row * size + col}.
+     */
+    public static int moveOf(int entry) {
+        return entry >>> VALUE_BITS;
+    }
+
+    /**
+     * Encodes an entry.
+     *
+     * @param value the value.
+     * @param move  the best move.
+     * @return the entry byte.
+     */
+    static byte encode(int value, int move) {
+        return (byte) ((move << VALUE_BITS) | value);
+    }
+
+    /**
+     * Returns the powers of three from {@code 3^0} to {@code 3^cells}.
+     *
+     * @param cells the largest exponent.
+     * @return the powers.
+     */
+    static int[] powersOfThree(int cells) {
+        int[] powers = new int[cells + 1];
+        powers[0] = 1;
+        for (int i = 1; i <= cells; i++) {
+            powers[i] = powers[i - 1] * 3;
+        }
+        return powers;
+    }
+}
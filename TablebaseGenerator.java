@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Solves every reachable position of a small board exhaustively and writes a {@link Tablebase}.
+ * <p>
+ * The solver is a memoized negamax over all positions reachable from the empty board with X
+ * moving first. Positions are kept as two bitmasks, and a move wins when it fills one of the
+ * {@link WinLines} windows through its cell, so each node costs a handful of mask tests.
+ * Scores count the plies to the end of the game, so that stored best moves win as fast
+ * (and lose as slowly) as possible.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see Tablebase
+ * @see TablebasePlayer
+ */
+public class TablebaseGenerator {
+
+    /** Marks a position whose score is not known yet. */
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+
+    private final int size;
+    private final int winStreak;
+
+    /** The number of cells. */
+    private final int cells;
+
+    /** The score of a win on the next ply; a win in {@code d} plies scores {@code winScore + 1 - d}. */
+    private final int winScore;
+
+    /** {@code powers[c]} is 3 to the power of {@code c}. */
+    private final int[] powers;
+
+    /** The masks of the windows through each cell. */
+    private final int[][] cellWindowMasks;
+
+    /** The score of each solved position for the player to move, or {@link #UNSOLVED}. */
+    private final byte[] scores;
+
+    /** The tablebase entries being built. */
+    private final byte[] entries;
+
+    /** The number of positions solved. */
+    private long solved;
+
+    /**
+     * Prepares a solver for the given configuration.
+     *
+     * @param size      the board size; the board may have at most {@link Tablebase#MAX_CELLS} cells.
+     * @param winStreak the number of marks needed in a row to win.
+     * @throws IllegalArgumentException if the board is too large for a dense table.
+     */
+    public TablebaseGenerator(int size, int winStreak) {
+        if (size < 1 || size * size > Tablebase.MAX_CELLS) {
+            throw new IllegalArgumentException("A tablebase supports at most " + Tablebase.MAX_CELLS
+                    + " cells, not a board of size " + size);
+        }
+        this.size = size;
+        this.winStreak = winStreak;
+        this.cells = size * size;
+        this.winScore = cells + 1;
+        this.powers = Tablebase.powersOfThree(cells);
+
+        WinLines lines = WinLines.of(size, winStreak);
+        cellWindowMasks = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            int[] masks = new int[lines.windowsEnd(cell) - lines.windowsStart(cell)];
+            for (int i = 0; i < masks.length; i++) {
+                int window = lines.windowAt(lines.windowsStart(cell) + i);
+                for (int k = 0; k < winStreak; k++) {
+                    masks[i] |= 1 << lines.cellOf(window, k);
+                }
+            }
+            cellWindowMasks[cell] = masks;
+        }
+
+        scores = new byte[powers[cells]];
+        entries = new byte[powers[cells]];
+    }
+
+    /**
+     * Solves all positions reachable from the empty board.
+     *
+     * @return the value of the empty board for X ({@link Tablebase#WIN}, {@link Tablebase#DRAW}
+     * or {@link Tablebase#LOSS}).
+     */
+    public int solve() {
+        Arrays.fill(scores, UNSOLVED);
+        Arrays.fill(entries, (byte) Tablebase.UNKNOWN);
+        solved = 0;
+        return valueOf(solve(0, 0, 0, true, cells));
+    }
+
+    /**
+     * Returns the number of positions solved by the last {@link #solve()}.
+     *
+     * @return the number of non-terminal reachable positions.
+     */
+    public long getSolvedCount() {
+        return solved;
+    }
+
+    /**
+     * Writes the solved table to a file.
+     *
+     * @param path the file to write.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public void write(Path path) {
+        ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_BYTES);
+        header.put(Tablebase.MAGIC).putInt(Tablebase.VERSION).putInt(size).putInt(winStreak).flip();
+        ByteBuffer body = ByteBuffer.wrap(entries);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write tablebase " + path, e);
+        }
+    }
+
+    /**
+     * Solves a position, memoizing its score and best move.
+     *
+     * @param xMask   the cells holding X.
+     * @param oMask   the cells holding O.
+     * @param index   the base-3 index of the position.
+     * @param xToMove whether X is to move.
+     * @param empty   the number of blank cells, at least 1.
+     * @return the score for the player to move: positive for a win, negative for a loss, 0 for a tie.
+     */
+    private int solve(int xMask, int oMask, int index, boolean xToMove, int empty) {
+        if (scores[index] != UNSOLVED) {
+            return scores[index];
+        }
+        int own = xToMove ? xMask : oMask;
+        int occupied = xMask | oMask;
+        int digit = xToMove ? Tablebase.X_DIGIT : Tablebase.O_DIGIT;
+
+        int best = Integer.MIN_VALUE;
+        int bestMove = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int bit = 1 << cell;
+            if ((occupied & bit) != 0) {
+                continue;
+            }
+            int score;
+            if (completesWindow(own | bit, cell)) {
+                score = winScore;
+            } else if (empty == 1) {
+                score = 0;
+            } else {
+                int childIndex = index + digit * powers[cell];
+                int child = xToMove
+                        ? solve(xMask | bit, oMask, childIndex, false, empty - 1)
+                        : solve(xMask, oMask | bit, childIndex, true, empty - 1);
+                // One ply further from the end: wins and losses move one step towards 0
+                score = (child > 0) ? 1 - child : (child < 0) ? -child - 1 : 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = cell;
+            }
+        }
+
+        scores[index] = (byte) best;
+        entries[index] = Tablebase.encode(valueOf(best), bestMove);
+        solved++;
+        return best;
+    }
+
+    /**
+     * Checks whether a mask fills one of the windows through a cell.
+     *
+     * @param mask the cells of one player, including {@code cell}.
+     * @param cell the cell just played.
+     * @return {@code true} if the move completed a window.
+     */
+    private boolean completesWindow(int mask, int cell) {
+        for (int window : cellWindowMasks[cell]) {
+            if ((mask & window) == window) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a score to a tablebase value.
+     *
+     * @param score the score for the player to move.
+     * @return {@link Tablebase#WIN}, {@link Tablebase#DRAW} or {@link Tablebase#LOSS}.
+     */
+    private static int valueOf(int score) {
+        return (score > 0) ? Tablebase.WIN : (score < 0) ? Tablebase.LOSS : Tablebase.DRAW;
+    }
+
+    /**
+     * Generates the tablebase of a configuration.
+     * <p>
+     * Example of expected arguments:
+     * <pre>
+     * java TablebaseGenerator [size] [winStreak] [outputFile]
+     * </pre>
+     * The output file defaults to {@link Tablebase#defaultPath(int, int)}, where
+     * {@link TablebasePlayer} looks for it.
+     * </p>
+     *
+     * @param args command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java TablebaseGenerator <size> <winStreak> [outputFile]");
+            return;
+        }
+        int size = Integer.parseInt(args[0]);
+        int winStreak = Integer.parseInt(args[1]);
+        Path path = (args.length > 2) ? Paths.get(args[2]) : Tablebase.defaultPath(size, winStreak);
+
+        TablebaseGenerator generator = new TablebaseGenerator(size, winStreak);
+        long start = System.nanoTime();
+        int value = generator.solve();
+        generator.write(path);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        String result = (value == Tablebase.WIN) ? "X wins" : (value == Tablebase.LOSS) ? "O wins" : "tie";
+        System.out.println("Solved " + generator.getSolvedCount() + " positions of " + size + "x" + size
+                + " with win streak " + winStreak + " in " + millis + " ms: " + result
+                + " with perfect play");
+        System.out.print("Wrote " + path);
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * A perfect automatic player for small boards, backed by a precomputed {@link Tablebase}.
+ * <p>
+ * Each move is a single lookup of the current position in the memory-mapped table written by
+ * {@link TablebaseGenerator}, so the player never loses a position that can be held and wins
+ * every position that can be won, at almost no cost per move.
+ * </p>
+ *
+ * <p>When there is no tablebase file for the board size and win streak, or the position is not
+ * in the table (e.g. O moved first), the player falls back to an {@link AlphaBetaPlayer}.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Tablebase
+ * @see TablebaseGenerator
+ * @see Player
+ */
+public class TablebasePlayer implements Player {
+
+    /** The win streak used by the no-arg constructor (matches the default {@link Game}). */
+    private static final int DEFAULT_WIN_STREAK = 3;
+
+    /** The number of consecutive marks required to win. */
+    private final int winStreak;
+
+    /** The search player used for positions the table cannot answer. */
+    private final Player fallback;
+
+    /** The table of the current board size, or {@code null} if there is none. */
+    private Tablebase tablebase;
+
+    /** The board size {@link #tablebase} was looked up for. */
+    private int tablebaseSize = -1;
+
+    /** Default constructor, for the default win streak of 3. */
+    public TablebasePlayer() {
+        this(DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * Constructs a player for the given win streak.
+     *
+     * @param winStreak the number of marks needed in a row to win.
+     */
+    public TablebasePlayer(int winStreak) {
+        this.winStreak = winStreak;
+        this.fallback = new AlphaBetaPlayer(winStreak);
+    }
+
+    /**
+     * Plays the tablebase's best move, or the fallback player's move if the table has none.
+     *
+     * @param board the {@link Board} representing the current game state.
+     * @param mark  the {@link Mark} representing the player's symbol (X or O).
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        int size = board.getSize();
+        if (size != tablebaseSize) {
+            tablebase = Tablebase.forConfig(size, winStreak);
+            tablebaseSize = size;
+        }
+
+        // The table only holds positions where X moved first
+        int moves = board.getMoveCount();
+        boolean xToMove = (moves % 2 == 0);
+        if (tablebase != null && xToMove == (mark == Mark.X)) {
+            int entry = tablebase.lookup(board);
+            int move = Tablebase.moveOf(entry);
+            if (Tablebase.valueOf(entry) != Tablebase.UNKNOWN
+                    && board.putMark(mark, move / size, move % size)) {
+                return;
+            }
+        }
+        fallback.playTurn(board, mark);
+    }
+}
@@ -0,0 +1,284 @@
+import java.util.Arrays;
+
+/**
+ * An incrementally maintained index of the winning windows of a board and their threats.
+ * <p>
+ * A <i>window</i> is a run of {@code winStreak} consecutive cells along a row, column or diagonal.
+ * For every window, the index keeps the number of X and O marks in it. When a mark is placed,
+ * only the windows touching that cell are updated. A window is a <i>threat</i> for a mark when
+ * that mark fills all but one of its cells and the remaining cell is blank, i.e. the mark can
+ * complete it with its next move. The threats of each mark are kept in a set, so
+ * "where can X win right now?" is answered without scanning the board.
+ * </p>
+ *
+ * <p>The index follows a {@link Board} through {@link #sync(Board)}, which replays only the moves
+ * placed since the previous call. It works for any board size and win streak and can be
+ * shared by any AI player that needs win/block detection. It also counts the windows each
+ * mark can still complete, by how many marks they hold, which {@link Game} uses to stop
+ * games that nobody can win any more.</p>
+ *
+ * @author Naama Even-Oz
+ * @see Board
+ * @see WinLines
+ * @see SmartPlayer
+ */
+public class ThreatIndex {
+
+    /** Value of {@link #threatPositions} for windows that are not threats. */
+    private static final int NOT_A_THREAT = -1;
+
+    /** Index of X in the per-mark arrays. */
+    private static final int X_INDEX = 0;
+
+    /** Index of O in the per-mark arrays. */
+    private static final int O_INDEX = 1;
+
+    private final int size;
+    private final int winStreak;
+
+    /** The shared window geometry of this size and win streak. */
+    private final WinLines lines;
+
+    /** The number of marks of each player in each window, indexed {@code [mark][window]}. */
+    private final int[][] counts;
+
+    /** The threat windows of each player; the first {@code threatCount[mark]} entries are used. */
+    private final int[][] threats;
+
+    /** The number of threat windows of each player. */
+    private final int[] threatCount;
+
+    /** The position of each window in {@code threats[mark]}, or {@value #NOT_A_THREAT}. */
+    private final int[][] threatPositions;
+
+    /**
+     * {@code openByCount[mark][c]} is the number of windows holding {@code c} marks of the player
+     * and none of the opponent, i.e. windows the player can still complete.
+     */
+    private final int[][] openByCount;
+
+    /** The index's own copy of the cells, so that queries never touch the board. */
+    private final Mark[] cells;
+
+    /** The board this index follows, or {@code null} before the first sync. */
+    private Board board;
+
+    /** The number of the board's moves already applied. */
+    private int applied;
+
+    /** The cell of the last applied move, to detect histories that changed behind our back. */
+    private int lastApplied = Board.NO_MOVE;
+
+    /** The board's {@link Board#getGeneration() generation} when the index was last synced. */
+    private int generation;
+
+    /**
+     * Constructs an empty index for the given board size and win streak.
+     *
+     * @param size      the board size.
+     * @param winStreak the number of marks needed in a row to win.
+     */
+    public ThreatIndex(int size, int winStreak) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.lines = WinLines.of(size, winStreak);
+        int windowCount = lines.getWindowCount();
+
+        counts = new int[2][windowCount];
+        threats = new int[2][windowCount];
+        threatCount = new int[2];
+        openByCount = new int[2][winStreak + 1];
+        threatPositions = new int[2][windowCount];
+        cells = new Mark[size * size];
+        clear();
+    }
+
+    /**
+     * Returns the board size this index was built for.
+     *
+     * @return the board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the win streak this index was built for.
+     *
+     * @return the number of marks needed in a row to win.
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * Brings the index up to date with the given board.
+     * <p>
+     * If the board is the one followed so far and its move history still starts with the moves
+     * already applied, only the new moves are applied. Otherwise (another board, moves were
+     * taken back, or the board was reset for a new game) the index is rebuilt from the board's
+     * whole history, without allocating.
+     * </p>
+     *
+     * @param board the board to follow; must have this index's size.
+     */
+    public void sync(Board board) {
+        int moveCount = board.getMoveCount();
+        if (board != this.board || board.getGeneration() != generation || moveCount < applied
+                || (applied > 0 && board.getMove(applied - 1) != lastApplied)) {
+            clear();
+            this.board = board;
+            this.generation = board.getGeneration();
+        }
+        for (int i = applied; i < moveCount; i++) {
+            int cell = board.getMove(i);
+            place(board.getMark(cell / size, cell % size), cell);
+        }
+    }
+
+    /**
+     * Returns a cell where the given mark would complete a window, i.e. win immediately.
+     *
+     * @param mark X or O.
+     * @return the cell index {@code row * size + col}, or {@link Board#NO_MOVE} if there is none.
+     */
+    public int findCompletingCell(Mark mark) {
+        int m = indexOf(mark);
+        if (threatCount[m] == 0) {
+            return Board.NO_MOVE;
+        }
+        int window = threats[m][0];
+        for (int k = 0; k < winStreak; k++) {
+            int cell = lines.cellOf(window, k);
+            if (cells[cell] == Mark.BLANK) {
+                return cell;
+            }
+        }
+        return Board.NO_MOVE; // unreachable: a threat window always has one blank cell
+    }
+
+    /**
+     * Returns the number of windows the given mark can complete with its next move.
+     *
+     * @param mark X or O.
+     * @return the number of threat windows.
+     */
+    public int threatCount(Mark mark) {
+        return threatCount[indexOf(mark)];
+    }
+
+    /**
+     * Checks whether the given mark can still complete a window within the given number of its
+     * own moves: some window must hold no opponent mark and lack at most {@code movesLeft} marks.
+     * When this is false for both marks, the game can only end in a tie.
+     *
+     * @param mark      X or O.
+     * @param movesLeft the number of moves the player still gets.
+     * @return {@code true} if a window is still within reach.
+     */
+    public boolean canStillWin(Mark mark, int movesLeft) {
+        int[] open = openByCount[indexOf(mark)];
+        for (int c = Math.max(0, winStreak - movesLeft); c <= winStreak; c++) {
+            if (open[c] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a mark placed on the given cell, updating only the windows touching it.
+     *
+     * @param mark the mark placed (X or O).
+     * @param cell the cell index {@code row * size + col}.
+     */
+    private void place(Mark mark, int cell) {
+        int m = indexOf(mark);
+        int other = 1 - m;
+        cells[cell] = mark;
+        for (int i = lines.windowsStart(cell); i < lines.windowsEnd(cell); i++) {
+            int window = lines.windowAt(i);
+            int own = ++counts[m][window];
+            int theirs = counts[other][window];
+            if (theirs == 0) {
+                openByCount[m][own - 1]--;
+                openByCount[m][own]++;
+            }
+            if (own == 1) {
+                removeThreat(other, window); // the opponent can no longer complete it
+                openByCount[other][theirs]--;
+            }
+            if (own == winStreak - 1 && counts[other][window] == 0) {
+                addThreat(m, window);
+            } else if (own == winStreak) {
+                removeThreat(m, window); // completed
+            }
+        }
+        applied++;
+        lastApplied = cell;
+    }
+
+    /**
+     * Adds a window to a player's threat set.
+     *
+     * @param m      the player's index.
+     * @param window the window.
+     */
+    private void addThreat(int m, int window) {
+        if (threatPositions[m][window] != NOT_A_THREAT) {
+            return;
+        }
+        threatPositions[m][window] = threatCount[m];
+        threats[m][threatCount[m]++] = window;
+    }
+
+    /**
+     * Removes a window from a player's threat set, if present, by swapping in the last threat.
+     *
+     * @param m      the player's index.
+     * @param window the window.
+     */
+    private void removeThreat(int m, int window) {
+        int position = threatPositions[m][window];
+        if (position == NOT_A_THREAT) {
+            return;
+        }
+        int last = threats[m][--threatCount[m]];
+        threats[m][position] = last;
+        threatPositions[m][last] = position;
+        threatPositions[m][window] = NOT_A_THREAT;
+    }
+
+    /**
+     * Resets the index to an empty board.
+     * A window needing a single mark (win streak 1) is a threat on an empty board.
+     */
+    private void clear() {
+        for (int m = X_INDEX; m <= O_INDEX; m++) {
+            Arrays.fill(counts[m], 0);
+            Arrays.fill(threatPositions[m], NOT_A_THREAT);
+            threatCount[m] = 0;
+            Arrays.fill(openByCount[m], 0);
+            openByCount[m][0] = counts[m].length;
+            if (winStreak == 1) {
+                for (int w = 0; w < counts[m].length; w++) {
+                    addThreat(m, w);
+                }
+            }
+        }
+        Arrays.fill(cells, Mark.BLANK);
+        board = null;
+        applied = 0;
+        lastApplied = Board.NO_MOVE;
+    }
+
+    /**
+     * Returns the per-mark array index of a mark.
+     *
+     * @param mark X or O.
+     * @return {@value #X_INDEX} for X, {@value #O_INDEX} for O.
+     */
+    private static int indexOf(Mark mark) {
+        return (mark == Mark.X) ? X_INDEX : O_INDEX;
+    }
+}
@@ -1,3 +1,14 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
 /**
  * The {@code Tournament} class represents a sequence of games played between two {@link Player} objects.
  * <p>
@@ -16,6 +27,42 @@
  * @see Renderer
  */
 public class Tournament {
+    /** Command-line flag enabling parallel rounds, optionally followed by {@code =threads}. */
+    private static final String PARALLEL_FLAG = "-parallel";
+
+    /** Command-line flag recording every game to a file, followed by {@code =path}. */
+    private static final String RECORD_FLAG = "-record=";
+
+    /** Command-line flag printing latency and throughput statistics after the results. */
+    private static final String STATS_FLAG = "-stats";
+
+    /** Command-line flag seeding the random players, followed by {@code =seed}. */
+    private static final String SEED_FLAG = "-seed=";
+
+    /** Command-line flag printing the results so far every N rounds, followed by {@code =N}. */
+    private static final String PROGRESS_FLAG = "-progress=";
+
+    /** Command-line flag stopping early once a sequential test reaches a verdict, optionally followed by {@code =delta}. */
+    private static final String SPRT_FLAG = "-sprt";
+
+    /** The number of rounds between two checks of the sequential test when no progress interval is set. */
+    private static final int DEFAULT_CHECK_INTERVAL = 100;
+
+    /** Command-line flag ending games as ties as soon as neither player can win. */
+    private static final String EARLY_DRAW_FLAG = "-earlydraw";
+
+    /** Tally slot counting the first player's wins. */
+    static final int PLAYER1_WINS = 0;
+
+    /** Tally slot counting the second player's wins. */
+    static final int PLAYER2_WINS = 1;
+
+    /** Tally slot counting ties. */
+    static final int TIES = 2;
+
+    /** Number of slots in a tally array. */
+    static final int TALLY_SLOTS = 3;
+
     /** The number of rounds in the tournament. */
     private int rounds;
 
@@ -28,6 +75,42 @@ public class Tournament {
     /** The second player. */
     private Player player2;
 
+    /** The number of worker threads; 1 plays all rounds on the calling thread. */
+    private int threads = 1;
+
+    /** Builds a fresh first player for every parallel chunk, or {@code null} if not set. */
+    private Supplier<Player> playerSupplier1;
+
+    /** Builds a fresh second player for every parallel chunk, or {@code null} if not set. */
+    private Supplier<Player> playerSupplier2;
+
+    /** The file games are recorded to, or {@code null} if recording is off. */
+    private Path recordFile;
+
+    /** The writer of the current tournament's game records, or {@code null} if recording is off. */
+    private GameRecordWriter recorder;
+
+    /** Whether to collect and print latency and throughput statistics. */
+    private boolean statsEnabled;
+
+    /** Whether the random players are reseeded every round from {@link #seed}. */
+    private boolean seeded;
+
+    /** The tournament seed the per-round seeds are derived from. */
+    private long seed;
+
+    /** The number of rounds between two progress reports, or 0 for no reports. */
+    private int progressInterval;
+
+    /** The test that stops the tournament early, or {@code null} to always play every round. */
+    private SequentialTest sequentialTest;
+
+    /** Whether games end as ties as soon as neither player can win. */
+    private boolean earlyDraw;
+
+    /** The statistics of the current tournament, or {@code null} if statistics are off. */
+    private TournamentMetrics metrics;
+
     /**
      * Constructs a new {@code Tournament} with the specified number of rounds and participants.
      *
@@ -63,50 +146,345 @@ public class Tournament {
      *
      * @param size        the board size for each game.
      * @param winStreak   the number of marks needed to win.
-     * @param playerName1 the name of the first player.
-     * @param playerName2 the name of the second player.
+     * @param playerName1 the name of the first player, printed and recorded as a label only.
+     * @param playerName2 the name of the second player, printed and recorded as a label only.
+     * @throws IllegalStateException    if several threads are set but no player suppliers.
+     * @throws IllegalArgumentException if a parallel player supplier builds no player or a
+     *                                  {@link HumanPlayer}, or if a player or early draws need
+     *                                  per-cell state on a {@link BoardFactory#isSparse(int) sparse} board.
      */
     public void playTournament(int size, int winStreak, String playerName1, String playerName2) {
-        int player1Wins = 0;
-        int player2Wins = 0;
-        int ties = 0;
-
-        for (int i = 0; i < rounds; i++) {
-            boolean isEvenRound = (i % 2 == 0);
-            Game game;
-
-            if (isEvenRound) {
-                // Player 1 starts as X
-                game = new Game(player1, player2, size, winStreak, renderer);
-            } else {
-                // Player 2 starts as X
-                game = new Game(player2, player1, size, winStreak, renderer);
+        if (threads > 1 && (playerSupplier1 == null || playerSupplier2 == null)) {
+            throw new IllegalStateException("A parallel tournament needs player suppliers (see setPlayerSuppliers)");
+        }
+        if (BoardFactory.isSparse(size)) {
+            if (earlyDraw) {
+                throw new IllegalArgumentException("Early draws need per-window state and are not supported"
+                        + " on boards of " + BoardFactory.SPARSE_MIN_SIZE + "x" + BoardFactory.SPARSE_MIN_SIZE
+                        + " or more");
             }
-
-            Mark winner = game.run();
-
-            if (winner == Mark.X) {
-                if (isEvenRound) {
-                    player1Wins++;
+            RoundRunner.checkBoardSupport(player1, size);
+            RoundRunner.checkBoardSupport(player2, size);
+        }
+        int[] tally = new int[TALLY_SLOTS];
+        if (recordFile != null) {
+            recorder = new GameRecordWriter(recordFile, size, winStreak, playerName1, playerName2,
+                    seeded, seed);
+        }
+        metrics = statsEnabled ? new TournamentMetrics() : null;
+        if (metrics != null) {
+            metrics.start();
+        }
+        RoundRunner runner = new RoundRunner(size, winStreak, renderer);
+        runner.setEarlyDraw(earlyDraw);
+        if (seeded) {
+            runner.setSeed(seed);
+        }
+        runner.setRecorder(recorder);
+        runner.setMetrics(metrics);
+        ForkJoinPool pool = (threads > 1) ? new ForkJoinPool(threads) : null;
+        try {
+            // Without reports or early stopping, all rounds form a single batch
+            int batch = (progressInterval > 0) ? progressInterval
+                    : (sequentialTest != null) ? DEFAULT_CHECK_INTERVAL : Math.max(1, rounds);
+            int verdict = SequentialTest.CONTINUE;
+            for (int from = 0; from < rounds && verdict == SequentialTest.CONTINUE; from += batch) {
+                int to = (int) Math.min(rounds, (long) from + batch);
+                if (pool != null) {
+                    playParallel(pool, runner, from, to, size, tally);
                 } else {
-                    player2Wins++;
+                    runner.playRounds(from, to, player1, player2, tally);
                 }
-            } else if (winner == Mark.O) {
-                if (isEvenRound) {
-                    player2Wins++;
-                } else {
-                    player1Wins++;
+                if (sequentialTest != null) {
+                    verdict = sequentialTest.decide(tally[PLAYER1_WINS], tally[TIES], tally[PLAYER2_WINS]);
                 }
-            } else {
-                ties++;
+                if (progressInterval > 0) {
+                    renderer.flush();
+                    printProgress(to, tally);
+                }
+            }
+            if (sequentialTest != null) {
+                renderer.flush();
+                printVerdict(verdict, tally, playerName1, playerName2);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            closeRecorder();
+            if (metrics != null) {
+                metrics.stop();
             }
         }
 
+        // Let asynchronous renderers finish drawing before the results block
+        renderer.flush();
+
         // Print results exactly as required (no extra newlines or spaces)
         System.out.println("######### Results #########");
-        System.out.println("Player 1, " + playerName1 + " won: " + player1Wins + " rounds");
-        System.out.println("Player 2, " + playerName2 + " won: " + player2Wins + " rounds");
-        System.out.print("Ties: " + ties);
+        System.out.println("Player 1, " + playerName1 + " won: " + tally[PLAYER1_WINS] + " rounds");
+        System.out.println("Player 2, " + playerName2 + " won: " + tally[PLAYER2_WINS] + " rounds");
+        System.out.print("Ties: " + tally[TIES]);
+        if (metrics != null) {
+            metrics.printSummary(playerName1, playerName2);
+        }
+    }
+
+    /**
+     * Sets the number of worker threads used by {@link #playTournament(int, int, String, String)}.
+     * <p>
+     * With more than one thread, rounds are split across a fork-join pool. Every chunk of
+     * rounds is played by its own players, built by the {@link #setPlayerSuppliers(Supplier,
+     * Supplier) player suppliers}, which must be set too, so stateful players are never shared
+     * between threads. The renderer is shared, so parallel mode should be used with a renderer
+     * that tolerates concurrent calls, such as {@link VoidRenderer}.
+     * </p>
+     *
+     * @param threads the number of worker threads; 1 (the default) plays serially.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets how parallel tournaments build the players of each chunk of rounds.
+     * <p>
+     * The players given to the constructor play serial tournaments only; a parallel tournament
+     * plays every chunk with a fresh pair of players from these suppliers, e.g.
+     * {@code () -> new PlayerFactory().buildPlayer("smart", winStreak)}. Each supplied player
+     * plays on a single worker thread, so it must not need the console: {@link HumanPlayer}
+     * instances are rejected.
+     * </p>
+     *
+     * @param playerSupplier1 builds the first player.
+     * @param playerSupplier2 builds the second player.
+     */
+    public void setPlayerSuppliers(Supplier<Player> playerSupplier1, Supplier<Player> playerSupplier2) {
+        this.playerSupplier1 = playerSupplier1;
+        this.playerSupplier2 = playerSupplier2;
+    }
+
+    /**
+     * Records every game of the following tournaments to the given file.
+     * <p>
+     * Each call to {@link #playTournament(int, int, String, String)} overwrites the file with
+     * a {@link GameRecordWriter} record of its games, which {@link GameReplayer} can replay.
+     * In parallel mode the games are recorded in the order they finish.
+     * </p>
+     *
+     * @param recordFile the file to write, or {@code null} to turn recording off.
+     */
+    public void setRecordFile(Path recordFile) {
+        this.recordFile = recordFile;
+    }
+
+    /**
+     * Turns the collection of latency and throughput statistics on or off.
+     * <p>
+     * When on, every move is timed and the statistics are published as a JMX MBean
+     * (see {@link TournamentMetricsMBean}) while the tournament runs, and printed after
+     * the results block. When off (the default), games are not instrumented at all.
+     * </p>
+     *
+     * @param statsEnabled whether to collect statistics.
+     */
+    public void setStatsEnabled(boolean statsEnabled) {
+        this.statsEnabled = statsEnabled;
+    }
+
+    /**
+     * Makes the following tournaments reproducible.
+     * <p>
+     * At the start of every round, each {@link Seedable} player is reseeded with a seed derived
+     * from this seed, the global round index and the player's number (see
+     * {@link SplitMix64#derive(long, long)}). The same seed then gives the same games serially and
+     * with any number of threads, provided that no player carries state from one game into the
+     * next (parallel workers play their rounds with fresh players). All the built-in player types
+     * meet this; {@link AlphaBetaPlayer}, for one, clears its transposition table when a new game
+     * starts. The seed is also written to the game record.
+     * </p>
+     *
+     * @param seed the tournament seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    /**
+     * Prints the results so far every given number of rounds, with 95% confidence intervals.
+     * <p>
+     * Each report line gives the win rates of both players and the tie rate with their Wilson
+     * score intervals, and the log-likelihood ratio of the {@link #setSequentialTest(SequentialTest)
+     * sequential test}, if any, with its stopping bounds. Reports are printed before the results block.
+     * </p>
+     *
+     * @param progressInterval the number of rounds between reports, or 0 (the default) for none.
+     */
+    public void setProgressInterval(int progressInterval) {
+        this.progressInterval = Math.max(0, progressInterval);
+    }
+
+    /**
+     * Stops the following tournaments as soon as the given test reaches a verdict: that one
+     * player is stronger, or that neither is.
+     * <p>
+     * The test is checked after every {@link #setProgressInterval(int) progress interval}, or
+     * every {@value #DEFAULT_CHECK_INTERVAL} rounds if none is set. Rounds are played in batches
+     * between checks, in parallel if enabled, so a seeded tournament stops after the same round
+     * serially and in parallel. The verdict is printed before the results block, which then
+     * counts only the rounds played.
+     * </p>
+     *
+     * @param sequentialTest the test, or {@code null} (the default) to always play every round.
+     */
+    public void setSequentialTest(SequentialTest sequentialTest) {
+        this.sequentialTest = sequentialTest;
+    }
+
+    /**
+     * Turns early draw detection on or off (see {@link Game#setEarlyDraw(boolean)}).
+     * The results are the same either way; drawn games just take fewer moves.
+     *
+     * @param earlyDraw whether to end games as ties as soon as neither player can win.
+     */
+    public void setEarlyDraw(boolean earlyDraw) {
+        this.earlyDraw = earlyDraw;
+    }
+
+    /**
+     * Closes the game-record writer, if any, and turns it off.
+     */
+    private void closeRecorder() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close game record file " + recordFile, e);
+        } finally {
+            recorder = null;
+        }
+    }
+
+    /**
+     * Plays a range of rounds on a fork-join pool and adds the per-chunk tallies to a tally.
+     * <p>
+     * Rounds are split into contiguous chunks by their global round index,
+     * so the even/odd starting-player alternation is identical to the serial run.
+     * Each chunk counts into its own tally, so workers never contend on shared counters.
+     * The players of every chunk are built up front, on the calling thread, so that an invalid
+     * supplier fails before any round is played.
+     * </p>
+     *
+     * @param pool   the pool to play on.
+     * @param runner the runner playing each chunk.
+     * @param first  the first round index to play.
+     * @param last   the round index to stop before.
+     * @param size   the board size for each game.
+     * @param tally  the tally to update, indexed by {@link #PLAYER1_WINS}, {@link #PLAYER2_WINS} and {@link #TIES}.
+     * @throws IllegalArgumentException if a player supplier builds no player or a {@link HumanPlayer}.
+     */
+    private void playParallel(ForkJoinPool pool, RoundRunner runner, int first, int last, int size, int[] tally) {
+        int chunks = RoundRunner.chunkCount(last - first, threads);
+        List<Callable<int[]>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = RoundRunner.chunkStart(first, last, chunks, c);
+            int to = RoundRunner.chunkStart(first, last, chunks, c + 1);
+            Player chunkPlayer1 = supplyPlayer(playerSupplier1, "first", size);
+            Player chunkPlayer2 = supplyPlayer(playerSupplier2, "second", size);
+            tasks.add(() -> {
+                int[] chunkTally = new int[TALLY_SLOTS];
+                runner.playRounds(from, to, chunkPlayer1, chunkPlayer2, chunkTally);
+                return chunkTally;
+            });
+        }
+
+        for (int[] chunkTally : RoundRunner.invokeAll(pool, tasks)) {
+            for (int i = 0; i < TALLY_SLOTS; i++) {
+                tally[i] += chunkTally[i];
+            }
+        }
+    }
+
+    /**
+     * Builds a player for a parallel chunk and checks that it can play on a worker thread.
+     *
+     * @param supplier the player supplier.
+     * @param which    "first" or "second", for the error message.
+     * @param size     the board size.
+     * @return the player.
+     * @throws IllegalArgumentException if the supplier builds no player or a {@link HumanPlayer},
+     *                                  or a player that cannot play on the board size.
+     */
+    private static Player supplyPlayer(Supplier<Player> supplier, String which, int size) {
+        Player player = supplier.get();
+        if (player == null) {
+            throw new IllegalArgumentException("The " + which + " player supplier built no player");
+        }
+        if (player instanceof HumanPlayer) {
+            throw new IllegalArgumentException("Human players cannot play a parallel tournament");
+        }
+        RoundRunner.checkBoardSupport(player, size);
+        return player;
+    }
+
+    /**
+     * Prints a progress report line: the rates so far with their 95% confidence intervals,
+     * and the sequential test's log-likelihood ratio, if any.
+     *
+     * @param played the number of rounds played so far.
+     * @param tally  the tally so far.
+     */
+    private void printProgress(int played, int[] tally) {
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "Round %d/%d: ", played, rounds));
+        line.append(rate("player 1 wins", tally[PLAYER1_WINS], played)).append(", ");
+        line.append(rate("player 2 wins", tally[PLAYER2_WINS], played)).append(", ");
+        line.append(rate("ties", tally[TIES], played));
+        if (sequentialTest != null) {
+            line.append(String.format(Locale.ROOT, ", LLR player 1 %.2f, player 2 %.2f (bounds %.2f, %.2f)",
+                    sequentialTest.logLikelihoodRatio(tally[PLAYER1_WINS], tally[TIES], tally[PLAYER2_WINS]),
+                    sequentialTest.logLikelihoodRatio(tally[PLAYER2_WINS], tally[TIES], tally[PLAYER1_WINS]),
+                    sequentialTest.getLowerBound(), sequentialTest.getUpperBound()));
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Formats a rate with its 95% Wilson score interval, in percent.
+     *
+     * @param label  what is counted.
+     * @param count  the number of rounds counted.
+     * @param played the number of rounds played.
+     * @return e.g. {@code "ties 5.8% [4.5, 7.4]"}.
+     */
+    private static String rate(String label, int count, int played) {
+        return String.format(Locale.ROOT, "%s %.1f%% [%.1f, %.1f]", label, 100.0 * count / played,
+                100 * SequentialTest.wilsonLower(count, played), 100 * SequentialTest.wilsonUpper(count, played));
+    }
+
+    /**
+     * Prints the outcome of the sequential test.
+     *
+     * @param verdict     the last verdict of the test.
+     * @param tally       the final tally.
+     * @param playerName1 the name of the first player.
+     * @param playerName2 the name of the second player.
+     */
+    private void printVerdict(int verdict, int[] tally, String playerName1, String playerName2) {
+        int played = tally[PLAYER1_WINS] + tally[PLAYER2_WINS] + tally[TIES];
+        if (verdict == SequentialTest.CONTINUE) {
+            System.out.println("SPRT inconclusive after " + played + " rounds");
+        } else if (verdict == SequentialTest.EVEN) {
+            System.out.println("SPRT stopped after " + played + " of " + rounds
+                    + " rounds: neither player is stronger");
+        } else {
+            String stronger = (verdict == SequentialTest.PLAYER1_STRONGER)
+                    ? "Player 1, " + playerName1 : "Player 2, " + playerName2;
+            System.out.println("SPRT stopped after " + played + " of " + rounds + " rounds: "
+                    + stronger + " is stronger");
+        }
     }
 
     /**
@@ -115,18 +493,31 @@ public class Tournament {
      * The players' types and renderer are read from command-line arguments.
      * Example of expected arguments:
      * <pre>
-     * java Tournament [rounds] [size] [winStreak] [rendererType] [playerType1] [playerType2]
+     * java Tournament [rounds] [size] [winStreak] [rendererType] [playerType1] [playerType2] [-parallel[=threads]] [-record=file] [-stats] [-earlydraw] [-seed=seed] [-progress=rounds] [-sprt[=delta]]
      * </pre>
+     * {@code -parallel} spreads the rounds over all available cores,
+     * or over the given number of threads. {@code -record} writes every game to the given file.
+     * {@code -stats} prints move latency and throughput statistics after the results.
+     * {@code -earlydraw} ends games as soon as neither player can win, and {@code -seed}
+     * makes the random players reproducible. {@code -progress} prints the rates so far with
+     * confidence intervals every given number of rounds, and {@code -sprt} stops as soon as a
+     * sequential test decides whether a player is stronger by the given score margin.
      * </p>
      *
      * @param args command-line arguments used to configure the tournament.
      */
     public static void main(String[] args) {
         if (args.length < 6) {
-            System.out.println
-            ("Usage: java Tournament <rounds> <size> <winStreak> <rendererType> <player1Type> <player2Type>");
+            printUsage();
             return;
         }
+        for (int i = 6; i < args.length; i++) {
+            if (!isKnownFlag(args[i])) {
+                System.out.println("Unknown argument: " + args[i]);
+                printUsage();
+                return;
+            }
+        }
 
         int rounds = Integer.parseInt(args[0]);
         int size = Integer.parseInt(args[1]);
@@ -139,10 +530,62 @@ public class Tournament {
         PlayerFactory playerFactory = new PlayerFactory();
 
         Renderer renderer = rendererFactory.buildRenderer(rendererType, size);
-        Player player1 = playerFactory.buildPlayer(playerType1);
-        Player player2 = playerFactory.buildPlayer(playerType2);
+        Player player1 = playerFactory.buildPlayer(playerType1, winStreak);
+        Player player2 = playerFactory.buildPlayer(playerType2, winStreak);
 
         Tournament tournament = new Tournament(rounds, renderer, player1, player2);
-        tournament.playTournament(size, winStreak, playerType1, playerType2);
+        tournament.setPlayerSuppliers(() -> playerFactory.buildPlayer(playerType1, winStreak),
+                () -> playerFactory.buildPlayer(playerType2, winStreak));
+        for (int i = 6; i < args.length; i++) {
+            if (args[i].equals(PARALLEL_FLAG)) {
+                tournament.setThreads(Runtime.getRuntime().availableProcessors());
+            } else if (args[i].startsWith(PARALLEL_FLAG + "=")) {
+                tournament.setThreads(Integer.parseInt(args[i].substring(PARALLEL_FLAG.length() + 1)));
+            } else if (args[i].equals(STATS_FLAG)) {
+                tournament.setStatsEnabled(true);
+            } else if (args[i].startsWith(PROGRESS_FLAG)) {
+                tournament.setProgressInterval(Integer.parseInt(args[i].substring(PROGRESS_FLAG.length())));
+            } else if (args[i].equals(SPRT_FLAG)) {
+                tournament.setSequentialTest(new SequentialTest());
+            } else if (args[i].startsWith(SPRT_FLAG + "=")) {
+                double delta = Double.parseDouble(args[i].substring(SPRT_FLAG.length() + 1));
+                tournament.setSequentialTest(new SequentialTest(delta,
+                        SequentialTest.DEFAULT_ERROR_RATE, SequentialTest.DEFAULT_ERROR_RATE));
+            } else if (args[i].startsWith(SEED_FLAG)) {
+                tournament.setSeed(Long.parseLong(args[i].substring(SEED_FLAG.length())));
+            } else if (args[i].equals(EARLY_DRAW_FLAG)) {
+                tournament.setEarlyDraw(true);
+            } else if (args[i].startsWith(RECORD_FLAG)) {
+                tournament.setRecordFile(Paths.get(args[i].substring(RECORD_FLAG.length())));
+            }
+        }
+        try (renderer) {
+            tournament.playTournament(size, winStreak, playerType1, playerType2);
+        }
+    }
+
+    /**
+     * Tells whether a command-line argument after the player types is one of the flags
+     * {@link #main(String[])} understands, so that a misspelled flag is not silently ignored.
+     *
+     * @param arg the argument.
+     * @return {@code true} if the argument is a known flag.
+     */
+    private static boolean isKnownFlag(String arg) {
+        return arg.equals(PARALLEL_FLAG) || arg.startsWith(PARALLEL_FLAG + "=")
+                || arg.equals(STATS_FLAG) || arg.startsWith(PROGRESS_FLAG)
+                || arg.equals(SPRT_FLAG) || arg.startsWith(SPRT_FLAG + "=")
+                || arg.startsWith(SEED_FLAG) || arg.equals(EARLY_DRAW_FLAG)
+                || arg.startsWith(RECORD_FLAG);
+    }
+
+    /**
+     * Prints the command-line usage.
+     */
+    private static void printUsage() {
+        System.out.println
+        ("Usage: java Tournament <rounds> <size> <winStreak> <rendererType> <player1Type> <player2Type>"
+                + " [-parallel[=threads]] [-record=file] [-stats] [-earlydraw] [-seed=seed]"
+                + " [-progress=rounds] [-sprt[=delta]]");
     }
 }
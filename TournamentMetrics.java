@@ -0,0 +1,218 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency and throughput statistics of a tournament.
+ * <p>
+ * Every thread playing games gets its own {@link MetricsRecorder} from {@link #newRecorder()};
+ * the statistics are the combination of all recorders. While the tournament runs they are
+ * published as a JMX MBean (see {@link TournamentMetricsMBean}), and afterwards
+ * {@link #printSummary(String, String)} prints them after the results block.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see Tournament
+ * @see MetricsRecorder
+ */
+public class TournamentMetrics implements TournamentMetricsMBean {
+
+    /** The JMX object name the metrics are registered under. */
+    public static final String OBJECT_NAME = "oop.ex1:type=TournamentMetrics";
+
+    /** Nanoseconds per microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** The median percentile. */
+    private static final double P50 = 50;
+
+    /** The 99th percentile. */
+    private static final double P99 = 99;
+
+    /** The recorders of all threads; guarded by {@code this}. */
+    private final List<MetricsRecorder> recorders = new ArrayList<>();
+
+    /** {@link System#nanoTime()} when the tournament started. */
+    private volatile long startNanos;
+
+    /** {@link System#nanoTime()} when the tournament ended, or 0 while it runs. */
+    private volatile long endNanos;
+
+    /** The name this object is registered under, or {@code null} if it is not registered. */
+    private ObjectName registeredName;
+
+    /**
+     * Creates a recorder for one thread's games.
+     *
+     * @return a new recorder whose data is included in these statistics.
+     */
+    public synchronized MetricsRecorder newRecorder() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * Marks the start of the tournament and registers the MBean.
+     * Registration failures are logged and otherwise ignored.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            registeredName = name;
+        } catch (JMException e) {
+            Logger.getGlobal().warning("Cannot register tournament metrics MBean: " + e);
+        }
+    }
+
+    /**
+     * Marks the end of the tournament and unregisters the MBean.
+     */
+    public void stop() {
+        endNanos = System.nanoTime();
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            Logger.getGlobal().warning("Cannot unregister tournament metrics MBean: " + e);
+        }
+        registeredName = null;
+    }
+
+    /**
+     * Prints the statistics, starting on a new line after the results block.
+     *
+     * @param playerName1 the name of the first player.
+     * @param playerName2 the name of the second player.
+     */
+    public void printSummary(String playerName1, String playerName2) {
+        System.out.println();
+        System.out.println("######### Statistics #########");
+        System.out.println(String.format(Locale.ROOT,
+                "Games: %d (%.1f games/s), moves: %d (%.1f moves/s), average game length: %.2f moves",
+                getGamesPlayed(), getGamesPerSecond(), getMovesPlayed(), getMovesPerSecond(),
+                getAverageGameLength()));
+        System.out.println(latencyLine("Player 1, " + playerName1, latencies(MetricsRecorder.PLAYER1)));
+        System.out.print(latencyLine("Player 2, " + playerName2, latencies(MetricsRecorder.PLAYER2)));
+    }
+
+    @Override
+    public synchronized long getGamesPlayed() {
+        long games = 0;
+        for (MetricsRecorder recorder : recorders) {
+            games += recorder.getGames();
+        }
+        return games;
+    }
+
+    @Override
+    public synchronized long getMovesPlayed() {
+        long moves = 0;
+        for (MetricsRecorder recorder : recorders) {
+            moves += recorder.getMoves();
+        }
+        return moves;
+    }
+
+    @Override
+    public double getGamesPerSecond() {
+        return perSecond(getGamesPlayed());
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        return perSecond(getMovesPlayed());
+    }
+
+    @Override
+    public double getAverageGameLength() {
+        long games = getGamesPlayed();
+        return (games == 0) ? 0 : (double) getMovesPlayed() / games;
+    }
+
+    @Override
+    public double getPlayer1P50Micros() {
+        return latencies(MetricsRecorder.PLAYER1).getPercentile(P50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPlayer1P99Micros() {
+        return latencies(MetricsRecorder.PLAYER1).getPercentile(P99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPlayer1MaxMicros() {
+        return latencies(MetricsRecorder.PLAYER1).getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPlayer2P50Micros() {
+        return latencies(MetricsRecorder.PLAYER2).getPercentile(P50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPlayer2P99Micros() {
+        return latencies(MetricsRecorder.PLAYER2).getPercentile(P99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPlayer2MaxMicros() {
+        return latencies(MetricsRecorder.PLAYER2).getMax() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Combines the move latencies of one player from all recorders.
+     *
+     * @param player {@link MetricsRecorder#PLAYER1} or {@link MetricsRecorder#PLAYER2}.
+     * @return a new histogram holding all the player's moves.
+     */
+    private synchronized LatencyHistogram latencies(int player) {
+        LatencyHistogram combined = new LatencyHistogram();
+        for (MetricsRecorder recorder : recorders) {
+            combined.add(recorder.getLatencies(player));
+        }
+        return combined;
+    }
+
+    /**
+     * Divides a count by the elapsed wall-clock time.
+     *
+     * @param count the count.
+     * @return the count per second, or 0 before the tournament started.
+     */
+    private double perSecond(long count) {
+        long end = (endNanos != 0) ? endNanos : System.nanoTime();
+        long elapsed = end - startNanos;
+        return (startNanos == 0 || elapsed <= 0) ? 0 : count * NANOS_PER_SECOND / elapsed;
+    }
+
+    /**
+     * Formats one player's latency line.
+     *
+     * @param label     the player label.
+     * @param histogram the player's move latencies.
+     * @return the line, without a line separator.
+     */
+    private static String latencyLine(String label, LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%s move latency: p50 %.1f us, p99 %.1f us, max %.1f us",
+                label, histogram.getPercentile(P50) / NANOS_PER_MICRO,
+                histogram.getPercentile(P99) / NANOS_PER_MICRO, histogram.getMax() / NANOS_PER_MICRO);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * The JMX management interface of {@link TournamentMetrics}.
+ * <p>
+ * While a tournament with statistics enabled is running, these attributes can be watched
+ * with any JMX client (e.g. JConsole) under the name {@value TournamentMetrics#OBJECT_NAME}.
+ * Latencies are in microseconds.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ * @see TournamentMetrics
+ */
+public interface TournamentMetricsMBean {
+
+    /**
+     * Returns the number of games finished so far.
+     *
+     * @return the game count.
+     */
+    long getGamesPlayed();
+
+    /**
+     * Returns the number of moves played in finished games.
+     *
+     * @return the move count.
+     */
+    long getMovesPlayed();
+
+    /**
+     * Returns the number of games finished per second of wall-clock time.
+     *
+     * @return the game throughput.
+     */
+    double getGamesPerSecond();
+
+    /**
+     * Returns the number of moves played per second of wall-clock time.
+     *
+     * @return the move throughput.
+     */
+    double getMovesPerSecond();
+
+    /**
+     * Returns the average number of moves per game.
+     *
+     * @return the average game length.
+     */
+    double getAverageGameLength();
+
+    /**
+     * Returns the median move latency of the first player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer1P50Micros();
+
+    /**
+     * Returns the 99th-percentile move latency of the first player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer1P99Micros();
+
+    /**
+     * Returns the maximum move latency of the first player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer1MaxMicros();
+
+    /**
+     * Returns the median move latency of the second player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer2P50Micros();
+
+    /**
+     * Returns the 99th-percentile move latency of the second player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer2P99Micros();
+
+    /**
+     * Returns the maximum move latency of the second player.
+     *
+     * @return the latency in microseconds.
+     */
+    double getPlayer2MaxMicros();
+}
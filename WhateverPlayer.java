@@ -1,10 +1,9 @@
-import java.util.Random;
-
 /**
  * A simple automatic player that plays random moves on the board.
  * <p>
  * The WhateverPlayer selects a random empty cell each turn using
- * a {@link java.util.Random} generator. It serves as a baseline
+ * its own {@link SplitMix64} generator, which can be reseeded for
+ * reproducible tournaments (see {@link Seedable}). It serves as a baseline
  * for comparing smarter strategies such as {@link SmartPlayer}.
  * </p>
  *
@@ -15,21 +14,31 @@ import java.util.Random;
  * @see Player
  * @see SmartPlayer
  * @see Board
+ * @see Seedable
  */
-public class WhateverPlayer implements Player {
+public class WhateverPlayer implements Player, Seedable {
 
     /** Random number generator used for selecting random moves. */
-    private final Random random = new Random();
+    private final SplitMix64 random = new SplitMix64();
 
     /** Default constructor for WhateverPlayer. */
     public WhateverPlayer() {}
 
+    /**
+     * Restarts the sequence of random moves from the given seed.
+     *
+     * @param seed the seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     /**
      * Plays one turn by placing a mark in a random empty cell.
      * <p>
-     * The method repeatedly generates random coordinates until
-     * an empty position is found. This ensures that each move
-     * is valid without requiring external validation.
+     * The cell is drawn uniformly from the board's empty-cell index,
+     * so every move costs the same regardless of how full the board is.
      * </p>
      *
      * @param board the {@link Board} representing the current game state.
@@ -38,16 +47,20 @@ public class WhateverPlayer implements Player {
     @Override
     public void playTurn(Board board, Mark mark) {
         int boardSize = board.getSize();
-
-        // Continue until a valid random move is found
-        while (true) {
-            int randomRow = random.nextInt(boardSize);
-            int randomCol = random.nextInt(boardSize);
-
-            // Try placing the mark - if successful, end the turn
-            if (board.putMark(mark, randomRow, randomCol)) {
-                return;
-            }
+        int cell = board.randomEmptyCell(random);
+        if (cell == Board.NO_MOVE) {
+            return; // No available moves
         }
+        board.putMark(mark, cell / boardSize, cell % boardSize);
+    }
+
+    /**
+     * Returns {@code true}: the player only draws a random empty cell from the board.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean supportsSparseBoards() {
+        return true;
     }
 }
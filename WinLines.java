@@ -0,0 +1,200 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable table of all winning windows of a board size and win streak.
+ * <p>
+ * A <i>window</i> is a run of {@code winStreak} consecutive cells along a row, column or diagonal;
+ * a player wins by filling one. Windows are numbered from 0 to {@link #getWindowCount()} - 1,
+ * rows first, then columns, then ↘ and ↙ diagonals, and cells are numbered
+ * {@code row * size + col}. The table lists the cells of every window and, for every cell,
+ * the windows through it, so callers iterate plain index ranges with no bounds checks
+ * and no allocation.
+ * </p>
+ *
+ * <p>Tables are built once per (size, winStreak) pair by {@link #of(int, int)} and shared by
+ * every game and player in the process. Typical use:</p>
+ * <pre>
+ * WinLines lines = WinLines.of(size, winStreak);
+ * for (int i = lines.windowsStart(cell); i &lt; lines.windowsEnd(cell); i++) {
+ *     int window = lines.windowAt(i);
+ *     for (int k = 0; k &lt; lines.getWinStreak(); k++) {
+ *         int c = lines.cellOf(window, k);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Naama Even-Oz
+ * @see ThreatIndex
+ * @see AlphaBetaPlayer
+ */
+public final class WinLines {
+
+    /** The cached tables, keyed by {@code size << 32 | winStreak}. */
+    private static final Map<Long, WinLines> TABLES = new ConcurrentHashMap<>();
+
+    /** The row and column steps of the four line directions. */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winStreak;
+
+    /** The number of windows. */
+    private final int windowCount;
+
+    /** The cells of every window: window {@code w} occupies entries {@code w * winStreak} onward. */
+    private final int[] windowCells;
+
+    /** The windows through cell {@code c} are entries {@code cellWindowStart[c]} to {@code cellWindowStart[c + 1]}. */
+    private final int[] cellWindowStart;
+
+    /** The concatenated per-cell window lists. */
+    private final int[] cellWindows;
+
+    /**
+     * Builds the table for the given board size and win streak.
+     *
+     * @param size      the board size.
+     * @param winStreak the window length.
+     */
+    private WinLines(int size, int winStreak) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.windowCells = buildWindows(size, winStreak);
+        this.windowCount = windowCells.length / Math.max(1, winStreak);
+
+        // Group the windows by cell
+        int cellCount = size * size;
+        cellWindowStart = new int[cellCount + 1];
+        for (int cell : windowCells) {
+            cellWindowStart[cell + 1]++;
+        }
+        for (int c = 0; c < cellCount; c++) {
+            cellWindowStart[c + 1] += cellWindowStart[c];
+        }
+        cellWindows = new int[windowCells.length];
+        int[] fill = new int[cellCount];
+        for (int w = 0; w < windowCount; w++) {
+            for (int k = 0; k < winStreak; k++) {
+                int cell = windowCells[w * winStreak + k];
+                cellWindows[cellWindowStart[cell] + fill[cell]++] = w;
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table for the given board size and win streak, building it on first use.
+     * A win streak below 1 or above the board size has no windows.
+     *
+     * @param size      the board size.
+     * @param winStreak the number of marks needed in a row to win.
+     * @return the table.
+     */
+    public static WinLines of(int size, int winStreak) {
+        long key = ((long) size << 32) | winStreak;
+        return TABLES.computeIfAbsent(key, k -> new WinLines(size, winStreak));
+    }
+
+    /**
+     * Returns the board size of this table.
+     *
+     * @return the board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the win streak of this table, i.e. the number of cells in every window.
+     *
+     * @return the window length.
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * Returns the number of windows.
+     *
+     * @return the window count.
+     */
+    public int getWindowCount() {
+        return windowCount;
+    }
+
+    /**
+     * Returns a cell of a window.
+     *
+     * @param window the window, from 0 to {@link #getWindowCount()} - 1.
+     * @param k      the position in the window, from 0 to {@link #getWinStreak()} - 1.
+     * @return the cell index {@code row * size + col}.
+     */
+    public int cellOf(int window, int k) {
+        return windowCells[window * winStreak + k];
+    }
+
+    /**
+     * Returns the first position of a cell's windows, for use with {@link #windowAt(int)}.
+     *
+     * @param cell the cell index {@code row * size + col}.
+     * @return the start of the cell's range, inclusive.
+     */
+    public int windowsStart(int cell) {
+        return cellWindowStart[cell];
+    }
+
+    /**
+     * Returns the end of a cell's windows, for use with {@link #windowAt(int)}.
+     *
+     * @param cell the cell index {@code row * size + col}.
+     * @return the end of the cell's range, exclusive.
+     */
+    public int windowsEnd(int cell) {
+        return cellWindowStart[cell + 1];
+    }
+
+    /**
+     * Returns the window at a position of the per-cell window lists.
+     *
+     * @param position a position between {@link #windowsStart(int)} and {@link #windowsEnd(int)} of a cell.
+     * @return the window.
+     */
+    public int windowAt(int position) {
+        return cellWindows[position];
+    }
+
+    /**
+     * Lists the cells of every window: rows, then columns, then ↘ and ↙ diagonals.
+     *
+     * @param size      the board size.
+     * @param winStreak the window length.
+     * @return the window cells, {@code winStreak} entries per window.
+     */
+    private static int[] buildWindows(int size, int winStreak) {
+        if (winStreak < 1 || winStreak > size) {
+            return new int[0];
+        }
+        int perLine = size - winStreak + 1;
+        int windowCount = 2 * size * perLine + 2 * perLine * perLine;
+        int[] result = new int[windowCount * winStreak];
+        int next = 0;
+        for (int[] direction : DIRECTIONS) {
+            int dr = direction[0];
+            int dc = direction[1];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + (winStreak - 1) * dr;
+                    int endCol = col + (winStreak - 1) * dc;
+                    if (endRow >= size || endCol < 0 || endCol >= size) {
+                        continue;
+                    }
+                    for (int k = 0; k < winStreak; k++) {
+                        result[next++] = (row + k * dr) * size + (col + k * dc);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
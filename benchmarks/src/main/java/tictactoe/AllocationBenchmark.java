@@ -0,0 +1,80 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the steady-state cost of a tournament round that reuses its {@link Game} and {@link Board}.
+ * <p>
+ * Run it with JMH's GC profiler to see the allocation rate:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar AllocationBenchmark -prof gc
+ * </pre>
+ * {@code gc.alloc.rate.norm} is the number of bytes allocated per game, which should be
+ * (close to) zero for the naive, whatever and smart players.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AllocationBenchmark {
+
+    /** The two player types, as {@code player1:player2}. */
+    @Param({"naive:whatever", "smart:whatever", "smart:smart"})
+    public String players;
+
+    /** The board configuration, as {@code size:winStreak}. */
+    @Param({"4:3", "9:4"})
+    public String config;
+
+    private Player player1;
+    private Player player2;
+    private Game game;
+    private boolean player1IsX;
+
+    /** Builds the players and the game that every round reuses. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] types = players.split(":");
+        int[] parsed = BenchmarkBoards.parseConfig(config);
+        int size = parsed[0];
+        int winStreak = parsed[1];
+        PlayerFactory factory = new PlayerFactory();
+        player1 = factory.buildPlayer(types[0], winStreak);
+        player2 = factory.buildPlayer(types[1], winStreak);
+        game = new Game(player1, player2, size, winStreak, new VoidRenderer());
+    }
+
+    /**
+     * Plays one round, alternating the starting player like {@link Tournament} does.
+     *
+     * @return the winner.
+     */
+    @Benchmark
+    public Mark playRound() {
+        player1IsX = !player1IsX;
+        if (player1IsX) {
+            game.reset(player1, player2);
+        } else {
+            game.reset(player2, player1);
+        }
+        return game.run();
+    }
+}
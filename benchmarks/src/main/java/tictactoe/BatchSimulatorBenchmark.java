@@ -0,0 +1,64 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BatchSimulator} throughput in games per second, to compare with
+ * {@link TournamentBenchmark} on the same players.
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchSimulatorBenchmark {
+
+    /** The number of rounds per simulation. */
+    private static final int ROUNDS = 100_000;
+
+    /** The two policy types, as {@code player1:player2}. */
+    @Param({"naive:naive", "naive:whatever", "whatever:whatever"})
+    public String players;
+
+    /** The board configuration, as {@code size:winStreak}. */
+    @Param({"3:3", "4:3"})
+    public String config;
+
+    private BatchSimulator simulator;
+
+    /** Parses the parameters and builds the simulator. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] types = players.split(":");
+        int[] parsed = BenchmarkBoards.parseConfig(config);
+        simulator = new BatchSimulator(parsed[0], parsed[1], types[0], types[1]);
+    }
+
+    /**
+     * Simulates {@value #ROUNDS} rounds.
+     *
+     * @return the tally, so that the simulation is not optimized away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public int[] simulate() {
+        return simulator.simulate(ROUNDS);
+    }
+}
@@ -0,0 +1,41 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * Helpers for building benchmark positions.
+ *
+ * @author Naama Even-Oz
+ */
+final class BenchmarkBoards {
+
+    private BenchmarkBoards() {}
+
+    /**
+     * Places {@code marks} marks on random empty cells, alternating X and O.
+     *
+     * @param board  the board to fill.
+     * @param random the random generator.
+     * @param marks  the number of marks to place.
+     */
+    static void fillRandomly(Board board, SplittableRandom random, int marks) {
+        int size = board.getSize();
+        Mark mark = Mark.X;
+        for (int i = 0; i < marks && !board.isFull(); i++) {
+            int cell = board.randomEmptyCell(random);
+            board.putMark(mark, cell / size, cell % size);
+            mark = (mark == Mark.X) ? Mark.O : Mark.X;
+        }
+    }
+
+    /**
+     * Parses a {@code "size:winStreak"} benchmark parameter.
+     *
+     * @param config the parameter value.
+     * @return the size and win streak.
+     */
+    static int[] parseConfig(String config) {
+        String[] parts = config.split(":");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+}
@@ -0,0 +1,44 @@
+package tictactoe;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * Accepts the usual JMH command-line options, but writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE} unless {@code -rf} / {@code -rff} say otherwise,
+ * so that every run leaves a machine-readable record for regression tracking.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ */
+public class BenchmarkRunner {
+
+    /** The result file used when none is given on the command line. */
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Runs the benchmarks selected by the command-line options.
+     *
+     * @param args JMH command-line options.
+     * @throws RunnerException            if a benchmark fails.
+     * @throws CommandLineOptionException if the options are invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
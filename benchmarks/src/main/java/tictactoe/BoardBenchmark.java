@@ -0,0 +1,95 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Microbenchmarks of the basic {@link Board} operations on a half-filled board.
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    /** The board size. */
+    @Param({"3", "4", "9"})
+    public int size;
+
+    private Board board;
+    private SplittableRandom random;
+    private int emptyCell;
+
+    /** Fills half of the board with random marks. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new DenseBoard(size);
+        random = new SplittableRandom(size);
+        BenchmarkBoards.fillRandomly(board, random, size * size / 2);
+        emptyCell = board.getEmptyCell(0);
+    }
+
+    /**
+     * Places a mark on an empty cell and takes it back.
+     *
+     * @return whether the mark was placed.
+     */
+    @Benchmark
+    public boolean putAndRemoveMark() {
+        boolean placed = board.putMark(Mark.X, emptyCell / size, emptyCell % size);
+        board.removeMark(emptyCell / size, emptyCell % size);
+        return placed;
+    }
+
+    /**
+     * Reads every cell of the board.
+     *
+     * @param blackhole consumes the marks.
+     */
+    @Benchmark
+    public void getMarkAllCells(Blackhole blackhole) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                blackhole.consume(board.getMark(row, col));
+            }
+        }
+    }
+
+    /**
+     * Finds the first empty cell in row-major order.
+     *
+     * @return the cell index.
+     */
+    @Benchmark
+    public int firstEmptyCell() {
+        return board.firstEmptyCell();
+    }
+
+    /**
+     * Draws a uniformly random empty cell.
+     *
+     * @return the cell index.
+     */
+    @Benchmark
+    public int randomEmptyCell() {
+        return board.randomEmptyCell(random);
+    }
+}
@@ -0,0 +1,93 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-move cost of the automatic players.
+ * <p>
+ * Each invocation plays a whole self-play game, and the {@link MoveCounter} reports the
+ * number of moves as a secondary throughput result, so {@code moves} reads as moves per second.
+ * </p>
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    /** The player type, as understood by {@link PlayerFactory}. */
+    @Param({"naive", "whatever", "smart"})
+    public String player;
+
+    /** The board configuration, as {@code size:winStreak}. */
+    @Param({"4:3", "9:4"})
+    public String config;
+
+    private Player playerX;
+    private Player playerO;
+    private int size;
+    private int winStreak;
+
+    /** Counts the moves played, reported by JMH as a throughput result. */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class MoveCounter {
+        /** Moves played in the current iteration. */
+        public long moves;
+
+        /** Resets the counter before each iteration. */
+        @Setup(Level.Iteration)
+        public void reset() {
+            moves = 0;
+        }
+    }
+
+    /** Builds the two players. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] parsed = BenchmarkBoards.parseConfig(config);
+        size = parsed[0];
+        winStreak = parsed[1];
+        PlayerFactory factory = new PlayerFactory();
+        playerX = factory.buildPlayer(player, winStreak);
+        playerO = factory.buildPlayer(player, winStreak);
+    }
+
+    /**
+     * Plays one self-play game to the end.
+     *
+     * @param counter receives the number of moves played.
+     * @return the final board.
+     */
+    @Benchmark
+    public Board selfPlayGame(MoveCounter counter) {
+        Board board = new DenseBoard(size);
+        Mark current = Mark.X;
+        while (true) {
+            (current == Mark.X ? playerX : playerO).playTurn(board, current);
+            counter.moves++;
+            if (board.completesStreak(board.getLastRow(), board.getLastCol(), winStreak) || board.isFull()) {
+                return board;
+            }
+            current = (current == Mark.X) ? Mark.O : Mark.X;
+        }
+    }
+}
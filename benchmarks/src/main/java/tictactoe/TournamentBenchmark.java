@@ -0,0 +1,80 @@
+package tictactoe;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures whole-tournament throughput with a {@link VoidRenderer}, in games per second.
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TournamentBenchmark {
+
+    /** The number of rounds per tournament. */
+    private static final int ROUNDS = 1000;
+
+    /** The two player types, as {@code player1:player2}. */
+    @Param({"naive:whatever", "smart:whatever"})
+    public String players;
+
+    /** The board configuration, as {@code size:winStreak}. */
+    @Param({"4:3", "9:4"})
+    public String config;
+
+    private String playerType1;
+    private String playerType2;
+    private int size;
+    private int winStreak;
+    private PrintStream originalOut;
+
+    /** Parses the parameters and silences the results block printed by each tournament. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] types = players.split(":");
+        playerType1 = types[0];
+        playerType2 = types[1];
+        int[] parsed = BenchmarkBoards.parseConfig(config);
+        size = parsed[0];
+        winStreak = parsed[1];
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /** Restores standard output. */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    /** Plays a tournament of {@value #ROUNDS} rounds. */
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void playTournament() {
+        PlayerFactory factory = new PlayerFactory();
+        Tournament tournament = new Tournament(ROUNDS, new VoidRenderer(),
+                factory.buildPlayer(playerType1, winStreak), factory.buildPlayer(playerType2, winStreak));
+        tournament.playTournament(size, winStreak, playerType1, playerType2);
+    }
+}
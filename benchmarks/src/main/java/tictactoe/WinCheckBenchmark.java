@@ -0,0 +1,73 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the win checks at several board sizes and win streaks:
+ * the full-board bitboard check used by {@link Game#checkWin(Mark)} and
+ * the last-move check used by {@link Game#run()}.
+ *
+ * @author Naama Even-Oz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WinCheckBenchmark {
+
+    /** The board configuration, as {@code size:winStreak}. */
+    @Param({"3:3", "4:3", "8:5", "9:4", "16:5"})
+    public String config;
+
+    private Board board;
+    private int winStreak;
+    private int lastRow;
+    private int lastCol;
+
+    /** Fills a third of the board with random marks. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] parsed = BenchmarkBoards.parseConfig(config);
+        board = new DenseBoard(parsed[0]);
+        winStreak = parsed[1];
+        BenchmarkBoards.fillRandomly(board, new SplittableRandom(parsed[0]), parsed[0] * parsed[0] / 3);
+        lastRow = board.getLastRow();
+        lastCol = board.getLastCol();
+    }
+
+    /**
+     * Checks the whole board for a streak of X.
+     *
+     * @return whether X has a streak.
+     */
+    @Benchmark
+    public boolean fullBoardCheck() {
+        return board.hasStreak(Mark.X, winStreak);
+    }
+
+    /**
+     * Checks the lines through the last move only.
+     *
+     * @return whether the last move completed a streak.
+     */
+    @Benchmark
+    public boolean lastMoveCheck() {
+        return board.completesStreak(lastRow, lastCol, winStreak);
+    }
+}
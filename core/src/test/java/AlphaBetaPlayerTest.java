@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AlphaBetaPlayer}.
+ *
+ * @author Naama Even-Oz
+ */
+class AlphaBetaPlayerTest {
+
+    /** A player's moves do not depend on the games it played before. */
+    @Test
+    void repeatsGameWithSameInstances() {
+        AlphaBetaPlayer playerX = new AlphaBetaPlayer(4);
+        AlphaBetaPlayer playerO = new AlphaBetaPlayer(4);
+        Game game = new Game(playerX, playerO, 6, 4, new VoidRenderer());
+        game.run();
+        int[] first = moves(game.getBoard());
+
+        game.reset(playerX, playerO);
+        game.run();
+        assertArrayEquals(first, moves(game.getBoard()));
+
+        Game fresh = new Game(playerX, playerO, 6, 4, new VoidRenderer());
+        fresh.run();
+        assertArrayEquals(first, moves(fresh.getBoard()));
+    }
+
+    /** Window weights grow with the mark count and never overflow, however long the win streak. */
+    @Test
+    void windowWeightsDoNotOverflow() {
+        assertEquals(1, AlphaBetaPlayer.weight(0));
+        assertEquals(32768, AlphaBetaPlayer.weight(5));
+        for (int count = 1; count <= 64; count++) {
+            assertTrue(AlphaBetaPlayer.weight(count) >= AlphaBetaPlayer.weight(count - 1), "weight(" + count + ")");
+        }
+    }
+
+    /** Players with a long win streak still finish their games. */
+    @Test
+    void playsLongWinStreaks() {
+        Game game = new Game(new AlphaBetaPlayer(12), new AlphaBetaPlayer(12), 12, 12, new VoidRenderer());
+        game.run();
+        assertTrue(game.getBoard().getMoveCount() > 0);
+    }
+
+    /**
+     * Lists the moves of a board.
+     *
+     * @param board the board.
+     * @return its cells, in move order.
+     */
+    private static int[] moves(Board board) {
+        int[] moves = new int[board.getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = board.getMove(i);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,59 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AsyncRenderer}.
+ *
+ * @author Naama Even-Oz
+ */
+class AsyncRendererTest {
+
+    /** The number of frames rendered. */
+    private static final int FRAMES = 100;
+
+    /** Closing draws every accepted frame, stops the drawing thread and closes the wrapped renderer. */
+    @Test
+    void closeDrawsPendingFramesAndStopsThread() {
+        AtomicInteger drawn = new AtomicInteger();
+        AtomicBoolean delegateClosed = new AtomicBoolean();
+        Renderer delegate = new Renderer() {
+            @Override
+            public void renderBoard(Board board) {
+                drawn.incrementAndGet();
+            }
+
+            @Override
+            public void close() {
+                delegateClosed.set(true);
+            }
+        };
+        AsyncRenderer renderer = new AsyncRenderer(delegate, 4, AsyncRenderer.OverflowPolicy.BLOCK);
+        Board board = new DenseBoard(3);
+        for (int i = 0; i < FRAMES; i++) {
+            renderer.renderBoard(board);
+        }
+        renderer.close();
+
+        assertEquals(FRAMES, drawn.get());
+        assertTrue(delegateClosed.get());
+        assertFalse(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("async-renderer")));
+        assertThrows(IllegalStateException.class, () -> renderer.renderBoard(board));
+    }
+
+    /** A renderer that never rendered a frame starts no thread. */
+    @Test
+    void unusedRendererStartsNoThread() {
+        try (AsyncRenderer renderer = new AsyncRenderer(new VoidRenderer(), 4, AsyncRenderer.OverflowPolicy.BLOCK)) {
+            assertFalse(Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("async-renderer")));
+        }
+    }
+}
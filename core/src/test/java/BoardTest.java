@@ -0,0 +1,293 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Board} and its {@link DenseBoard} and {@link SparseBoard} implementations.
+ *
+ * @author Naama Even-Oz
+ */
+class BoardTest {
+
+    /** A board size whose cells span two bitboard words. */
+    private static final int TWO_WORD_SIZE = 9;
+
+    /** A board size whose cells span three bitboard words. */
+    private static final int THREE_WORD_SIZE = 12;
+
+    /** Streaks that cross the boundary between the first two bitboard words are found in every direction. */
+    @Test
+    void findsStreaksAcrossWordBoundaries() {
+        // Cell 63 is the last bit of the first word: (7, 0) on a 9x9 board
+        assertStreak(TWO_WORD_SIZE, 7, 0, 0, 1);  // horizontal, cells 63 to 67
+        assertStreak(TWO_WORD_SIZE, 4, 0, 1, 0);  // vertical, cells 36 to 72
+        assertStreak(TWO_WORD_SIZE, 4, 0, 1, 1);  // diagonal ↘, cells 36 to 76
+        assertStreak(TWO_WORD_SIZE, 4, 7, 1, -1); // diagonal ↙, cells 43 to 75
+        assertStreak(THREE_WORD_SIZE, 10, 4, 0, 1); // horizontal, cells 124 to 128
+    }
+
+    /** Runs that wrap from the end of one row to the start of the next are not streaks. */
+    @Test
+    void ignoresRunsWrappingAcrossRows() {
+        Board board = new DenseBoard(TWO_WORD_SIZE);
+        // Cells 61 to 65: the last two cells of row 6 and the first three of row 7
+        for (int cell = 61; cell <= 65; cell++) {
+            board.putMark(Mark.X, cell / TWO_WORD_SIZE, cell % TWO_WORD_SIZE);
+        }
+        assertFalse(board.hasStreak(Mark.X, 4));
+        assertTrue(board.hasStreak(Mark.X, 3));
+    }
+
+    /** On random positions, the bit-parallel check agrees with probing every line. */
+    @Test
+    void hasStreakMatchesLineProbes() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int size : new int[]{TWO_WORD_SIZE, THREE_WORD_SIZE}) {
+            for (int game = 0; game < 200; game++) {
+                Board board = new DenseBoard(size);
+                int marks = random.nextInt(size * size / 2);
+                for (int i = 0; i < marks; i++) {
+                    int cell = board.randomEmptyCell(random);
+                    board.putMark(random.nextBoolean() ? Mark.X : Mark.O, cell / size, cell % size);
+                }
+                for (int winStreak = 3; winStreak <= 5; winStreak++) {
+                    for (Mark mark : new Mark[]{Mark.X, Mark.O}) {
+                        assertEquals(hasStreakByProbing(board, mark, winStreak), board.hasStreak(mark, winStreak));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * In random games on multi-word dense boards and on a sparse board, a move completes a streak
+     * exactly when it gives its mark a streak it did not have before.
+     */
+    @Test
+    void completesStreakMatchesNewStreaks() {
+        SplittableRandom random = new SplittableRandom(2);
+        int sparseSize = BoardFactory.SPARSE_MIN_SIZE;
+        for (int size : new int[]{TWO_WORD_SIZE, THREE_WORD_SIZE, sparseSize}) {
+            for (int game = 0; game < 10; game++) {
+                Board board = new BoardFactory().buildBoard(size);
+                boolean[] hadStreak = new boolean[2];
+                // Random moves near the centre, so that streaks form on the sparse board too
+                for (int i = 0; i < 60; i++) {
+                    Mark mark = (i % 2 == 0) ? Mark.X : Mark.O;
+                    int row = size / 2 - 4 + random.nextInt(8);
+                    int col = size / 2 - 4 + random.nextInt(8);
+                    if (!board.putMark(mark, row, col)) {
+                        continue;
+                    }
+                    boolean hasStreak = hasStreakByProbing(board, mark, 4);
+                    if (!hadStreak[i % 2]) {
+                        assertEquals(hasStreak, board.completesStreak(row, col, 4));
+                    }
+                    hadStreak[i % 2] = hasStreak;
+                }
+            }
+        }
+    }
+
+    /** Hashes depend only on the position: not on move order, taken-back moves, resets or copies. */
+    @Test
+    void hashesFollowThePosition() {
+        for (int size : new int[]{3, TWO_WORD_SIZE, BoardFactory.SPARSE_MIN_SIZE}) {
+            Board board = new BoardFactory().buildBoard(size);
+            assertEquals(0, board.getHash());
+            board.putMark(Mark.X, 0, 0);
+            long afterX = board.getHash();
+            assertNotEquals(0, afterX);
+            board.putMark(Mark.O, 1, 1);
+            long afterXO = board.getHash();
+            assertNotEquals(afterX, afterXO);
+
+            // Same position, other move order, on another instance
+            Board other = new BoardFactory().buildBoard(size);
+            other.putMark(Mark.O, 1, 1);
+            other.putMark(Mark.X, 0, 0);
+            assertEquals(afterXO, other.getHash());
+
+            // The same cell with the other mark is another position
+            other.removeMark(0, 0);
+            other.putMark(Mark.O, 0, 0);
+            assertNotEquals(afterXO, other.getHash());
+
+            // Taking a move back restores the previous hash, even out of order
+            board.putMark(Mark.X, 2, 2);
+            board.removeMark(2, 2);
+            assertEquals(afterXO, board.getHash());
+            board.removeMark(0, 0);
+            board.putMark(Mark.X, 0, 0);
+            assertEquals(afterXO, board.getHash());
+
+            other.copyFrom(board);
+            assertEquals(afterXO, other.getHash());
+            board.reset();
+            assertEquals(0, board.getHash());
+            board.putMark(Mark.X, 0, 0);
+            assertEquals(afterX, board.getHash());
+        }
+    }
+
+    /** After any mix of placed and removed marks, the empty-cell index lists exactly the empty cells. */
+    @Test
+    void emptyCellIndexStaysConsistent() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int size : new int[]{3, TWO_WORD_SIZE}) {
+            Board board = new DenseBoard(size);
+            for (int step = 0; step < 2000; step++) {
+                if (board.getMoveCount() > 0 && random.nextInt(3) == 0) {
+                    int cell = board.getMove(random.nextInt(board.getMoveCount()));
+                    assertTrue(board.removeMark(cell / size, cell % size));
+                } else if (!board.isFull()) {
+                    int cell = board.randomEmptyCell(random);
+                    assertTrue(board.putMark(Mark.X, cell / size, cell % size));
+                }
+                boolean[] listed = new boolean[size * size];
+                for (int i = 0; i < board.emptyCount(); i++) {
+                    int cell = board.getEmptyCell(i);
+                    assertFalse(listed[cell], "cell " + cell + " listed twice");
+                    listed[cell] = true;
+                }
+                for (int cell = 0; cell < size * size; cell++) {
+                    assertEquals(board.getMark(cell) == Mark.BLANK, listed[cell], "cell " + cell);
+                }
+            }
+        }
+    }
+
+    /** Random empty cells are drawn uniformly, also once marks have been taken back. */
+    @Test
+    void randomEmptyCellIsUniform() {
+        Board board = new DenseBoard(3);
+        for (int cell = 0; cell < 6; cell++) {
+            board.putMark(Mark.O, cell / 3, cell % 3);
+        }
+        board.removeMark(0, 1);
+        board.removeMark(1, 1);
+        // Empty: cells 1, 4, 6, 7 and 8
+        int draws = 50_000;
+        int[] counts = new int[9];
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < draws; i++) {
+            counts[board.randomEmptyCell(random)]++;
+        }
+        double expected = (double) draws / board.emptyCount();
+        for (int cell = 0; cell < 9; cell++) {
+            if (board.getMark(cell) == Mark.BLANK) {
+                assertEquals(expected, counts[cell], 0.05 * expected, "cell " + cell);
+            } else {
+                assertEquals(0, counts[cell], "cell " + cell);
+            }
+        }
+    }
+
+    /** Every transform maps cells one to one, and its inverse maps them back. */
+    @Test
+    void inverseTransformsUndoTransforms() {
+        for (int size : new int[]{3, 4, TWO_WORD_SIZE}) {
+            Board board = new DenseBoard(size);
+            for (int t = 0; t < Board.SYMMETRY_COUNT; t++) {
+                boolean[] images = new boolean[size * size];
+                for (int cell = 0; cell < size * size; cell++) {
+                    int image = board.transformCell(t, cell);
+                    assertFalse(images[image], "transform " + t + " maps two cells to " + image);
+                    images[image] = true;
+                    assertEquals(cell, board.inverseTransformCell(t, image));
+                }
+            }
+        }
+    }
+
+    /**
+     * Each symmetric hash is the hash of the transformed position, and all eight variants of
+     * a position share one canonical hash, whether the hashes were tracked from the start or not.
+     */
+    @Test
+    void symmetricVariantsShareCanonicalHash() {
+        SplittableRandom random = new SplittableRandom(6);
+        for (int size : new int[]{3, 4, TWO_WORD_SIZE, BoardFactory.SPARSE_MIN_SIZE}) {
+            Board board = new BoardFactory().buildBoard(size);
+            Board tracked = new BoardFactory().buildBoard(size);
+            tracked.getCanonicalHash();
+            for (int i = 0; i < Math.min(7, size * size / 2); i++) {
+                int cell = board.randomEmptyCell(random);
+                Mark mark = (i % 2 == 0) ? Mark.X : Mark.O;
+                board.putMark(mark, cell / size, cell % size);
+                tracked.putMark(mark, cell / size, cell % size);
+            }
+            // A mark taken back out of order
+            int taken = board.getMove(1);
+            board.removeMark(taken / size, taken % size);
+            tracked.removeMark(taken / size, taken % size);
+
+            long canonical = board.getCanonicalHash();
+            assertEquals(canonical, tracked.getCanonicalHash());
+            for (int t = 0; t < Board.SYMMETRY_COUNT; t++) {
+                Board transformed = new BoardFactory().buildBoard(size);
+                for (int i = 0; i < board.getMoveCount(); i++) {
+                    int cell = board.getMove(i);
+                    int image = board.transformCell(t, cell);
+                    transformed.putMark(board.getMark(cell), image / size, image % size);
+                }
+                assertEquals(transformed.getHash(), board.getSymmetricHash(t), "transform " + t);
+                assertEquals(transformed.getHash(), tracked.getSymmetricHash(t), "transform " + t);
+                assertEquals(canonical, transformed.getCanonicalHash(), "transform " + t);
+            }
+        }
+    }
+
+    /**
+     * Places a streak of five X marks and checks that it is found, and that four are not enough.
+     *
+     * @param size the board size.
+     * @param row  the row of the first mark.
+     * @param col  the column of the first mark.
+     * @param dr   the row step between marks.
+     * @param dc   the column step between marks.
+     */
+    private static void assertStreak(int size, int row, int col, int dr, int dc) {
+        Board board = new DenseBoard(size);
+        for (int i = 0; i < 4; i++) {
+            board.putMark(Mark.X, row + i * dr, col + i * dc);
+        }
+        assertFalse(board.hasStreak(Mark.X, 5));
+        board.putMark(Mark.X, row + 4 * dr, col + 4 * dc);
+        assertTrue(board.hasStreak(Mark.X, 5));
+        assertFalse(board.hasStreak(Mark.O, 5));
+    }
+
+    /**
+     * Checks for a streak the slow way, by counting runs along every line through every cell.
+     *
+     * @param board     the board.
+     * @param mark      the mark.
+     * @param winStreak the number of consecutive marks required.
+     * @return true if the mark has a streak.
+     */
+    private static boolean hasStreakByProbing(Board board, Mark mark, int winStreak) {
+        int size = board.getSize();
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                for (int[] direction : directions) {
+                    int run = 0;
+                    while (run < winStreak
+                            && board.getMark(row + run * direction[0], col + run * direction[1]) == mark) {
+                        run++;
+                    }
+                    if (run == winStreak) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link GameRecordWriter} against {@link GameReplayer}.
+ *
+ * @author Naama Even-Oz
+ */
+class GameRecordWriterTest {
+
+    /** A board size large enough for games longer than the write buffer. */
+    private static final int LARGE_SIZE = 1000;
+
+    /** More moves than a 64 KiB buffer holds, at 3 bytes per move on a 1000x1000 board. */
+    private static final int LONG_GAME_MOVES = 40_000;
+
+    @TempDir
+    Path directory;
+
+    /** A game longer than the write buffer is written in chunks and replays move for move. */
+    @Test
+    void recordsGameLongerThanBuffer() throws IOException {
+        Path file = directory.resolve("long.bin");
+        Board longGame = randomGame(LARGE_SIZE, LONG_GAME_MOVES, 1);
+        Board shortGame = randomGame(LARGE_SIZE, 3, 2);
+        try (GameRecordWriter writer = new GameRecordWriter(file, LARGE_SIZE, 5, "whatever", "whatever", true, 1)) {
+            writer.writeGame(false, Mark.BLANK, longGame);
+            writer.writeGame(true, Mark.X, shortGame);
+        }
+
+        try (GameReplayer replayer = new GameReplayer(file)) {
+            assertEquals(LARGE_SIZE, replayer.getSize());
+            assertEquals(Mark.BLANK, replayer.replayNext(new VoidRenderer()));
+            assertFalse(replayer.isPlayer2X());
+            assertArrayEquals(moves(longGame), moves(replayer.getBoard()));
+
+            assertEquals(Mark.X, replayer.replayNext(new VoidRenderer()));
+            assertTrue(replayer.isPlayer2X());
+            assertArrayEquals(moves(shortGame), moves(replayer.getBoard()));
+            assertFalse(replayer.hasNext());
+        }
+    }
+
+    /** A run seeded with 0 is told apart from an unseeded run. */
+    @Test
+    void recordsWhetherRunWasSeeded() throws IOException {
+        Path seededFile = directory.resolve("seeded.bin");
+        Path unseededFile = directory.resolve("unseeded.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(seededFile, 3, 3, "naive", "naive", true, 0)) {
+            writer.writeGame(false, Mark.X, randomGame(3, 5, 1));
+        }
+        try (GameRecordWriter writer = new GameRecordWriter(unseededFile, 3, 3, "naive", "naive", false, 7)) {
+            writer.writeGame(false, Mark.X, randomGame(3, 5, 1));
+        }
+
+        try (GameReplayer seeded = new GameReplayer(seededFile);
+             GameReplayer unseeded = new GameReplayer(unseededFile)) {
+            assertTrue(seeded.isSeeded());
+            assertEquals(0, seeded.getSeed());
+            assertFalse(unseeded.isSeeded());
+            assertEquals(0, unseeded.getSeed());
+        }
+    }
+
+    /**
+     * Plays random moves, alternating X and O.
+     *
+     * @param size  the board size.
+     * @param moves the number of moves.
+     * @param seed  the seed of the moves.
+     * @return the board.
+     */
+    private static Board randomGame(int size, int moves, long seed) {
+        Board board = new BoardFactory().buildBoard(size);
+        SplitMix64 random = new SplitMix64(seed);
+        for (int i = 0; i < moves; i++) {
+            int cell = board.randomEmptyCell(random);
+            board.putMark((i % 2 == 0) ? Mark.X : Mark.O, cell / size, cell % size);
+        }
+        return board;
+    }
+
+    /**
+     * Lists the moves of a board.
+     *
+     * @param board the board.
+     * @return its cells, in move order.
+     */
+    private static int[] moves(Board board) {
+        int[] moves = new int[board.getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = board.getMove(i);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Game}.
+ *
+ * @author Naama Even-Oz
+ */
+class GameTest {
+
+    /** The number of seeded games played per configuration. */
+    private static final int GAMES = 300;
+
+    /** Early draws end only games that full play ties, and give the same winners otherwise. */
+    @Test
+    void earlyDrawKeepsWinners() {
+        int earlyStops = 0;
+        for (int[] config : new int[][]{{4, 3}, {5, 4}, {6, 4}}) {
+            int size = config[0];
+            int winStreak = config[1];
+            for (int seed = 0; seed < GAMES; seed++) {
+                Game full = seededGame(size, winStreak, seed);
+                Mark fullWinner = full.run();
+                Game early = seededGame(size, winStreak, seed);
+                early.setEarlyDraw(true);
+                Mark earlyWinner = early.run();
+
+                String game = size + "x" + size + ", win streak " + winStreak + ", seed " + seed;
+                assertEquals(fullWinner, earlyWinner, game);
+                int fullMoves = full.getBoard().getMoveCount();
+                int earlyMoves = early.getBoard().getMoveCount();
+                if (earlyMoves < fullMoves) {
+                    assertEquals(Mark.BLANK, earlyWinner, game);
+                    earlyStops++;
+                } else {
+                    assertEquals(fullMoves, earlyMoves, game);
+                }
+            }
+        }
+        assertTrue(earlyStops > 0, "no game ended early");
+    }
+
+    /**
+     * Builds a game between two random players seeded from a game seed.
+     *
+     * @param size      the board size.
+     * @param winStreak the number of marks needed to win.
+     * @param seed      the game seed.
+     * @return the game, ready to run.
+     */
+    private static Game seededGame(int size, int winStreak, long seed) {
+        WhateverPlayer playerX = new WhateverPlayer();
+        WhateverPlayer playerO = new WhateverPlayer();
+        playerX.setSeed(SplitMix64.derive(seed, 0));
+        playerO.setSeed(SplitMix64.derive(seed, 1));
+        return new Game(playerX, playerO, size, winStreak, new VoidRenderer());
+    }
+}
@@ -0,0 +1,88 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link League}.
+ *
+ * @author Naama Even-Oz
+ */
+class LeagueTest {
+
+    /** The number of rounds of each pairing. */
+    private static final int ROUNDS = 30;
+
+    /** Player types whose games do not depend on a seed. */
+    private static final List<String> DETERMINISTIC_TYPES = List.of("naive", "alphabeta", "perfect");
+
+    private PrintStream originalOut;
+
+    /** Silences the cross-table and the ratings. */
+    @BeforeEach
+    void silenceOutput() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /** Restores standard output. */
+    @AfterEach
+    void restoreOutput() {
+        System.setOut(originalOut);
+    }
+
+    /** Every pairing plays all its rounds, with the same results on any number of threads. */
+    @Test
+    void playsSameRoundsOnAnyNumberOfThreads() {
+        League serial = playLeague(1);
+        League parallel = playLeague(4);
+        int players = DETERMINISTIC_TYPES.size();
+        for (int i = 0; i < players; i++) {
+            for (int j = 0; j < players; j++) {
+                if (i == j) {
+                    continue;
+                }
+                assertEquals(ROUNDS, serial.getWins(i, j) + serial.getTies(i, j) + serial.getWins(j, i));
+                assertEquals(serial.getWins(i, j), parallel.getWins(i, j));
+                assertEquals(serial.getTies(i, j), parallel.getTies(i, j));
+            }
+        }
+    }
+
+    /** Unknown and human player types are rejected before any game is played. */
+    @Test
+    void rejectsUnknownAndHumanTypes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new League(ROUNDS, 4, 3, List.of("naive", "bogus")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new League(ROUNDS, 4, 3, List.of("naive", " Human ")));
+    }
+
+    /** Player types that cannot play on sparse boards are rejected before any game is played. */
+    @Test
+    void rejectsTypesWithoutSparseSupportOnSparseBoards() {
+        int sparseSize = BoardFactory.SPARSE_MIN_SIZE;
+        assertThrows(IllegalArgumentException.class,
+                () -> new League(2, sparseSize, 5, List.of("naive", "smart")));
+        new League(2, sparseSize, 5, List.of("naive", "whatever"));
+    }
+
+    /**
+     * Plays a league between the deterministic player types.
+     *
+     * @param threads the number of worker threads.
+     * @return the league, with its results.
+     */
+    private static League playLeague(int threads) {
+        League league = new League(ROUNDS, 4, 3, DETERMINISTIC_TYPES);
+        league.setThreads(threads);
+        league.playLeague();
+        return league;
+    }
+}
@@ -0,0 +1,29 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MctsPlayer}.
+ *
+ * @author Naama Even-Oz
+ */
+class MctsPlayerTest {
+
+    /** The number of search threads of the players under test. */
+    private static final int THREADS = 3;
+
+    /** Multi-threaded players share their search threads instead of each starting a pool. */
+    @Test
+    void playersShareSearchThreads() {
+        for (int i = 0; i < 20; i++) {
+            MctsPlayer player = new MctsPlayer(3, 200, 0, THREADS);
+            Board board = new DenseBoard(3);
+            player.playTurn(board, Mark.X);
+            player.playTurn(board, Mark.O);
+        }
+        long searchThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("mcts-worker"))
+                .count();
+        assertTrue(searchThreads <= THREADS, searchThreads + " search threads");
+    }
+}
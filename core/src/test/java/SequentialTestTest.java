@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SequentialTest}.
+ *
+ * @author Naama Even-Oz
+ */
+class SequentialTestTest {
+
+    /** The number of simulated matches. */
+    private static final int MATCHES = 200;
+
+    /** The number of games of each simulated match. */
+    private static final int GAMES = 2000;
+
+    /** One-sided first games (all wins, or all ties) do not stop the test. */
+    @Test
+    void oneSidedStartDoesNotStop() {
+        SequentialTest test = new SequentialTest();
+        assertEquals(SequentialTest.CONTINUE, test.decide(1, 0, 0));
+        assertEquals(SequentialTest.CONTINUE, test.decide(0, 1, 0));
+        assertEquals(SequentialTest.CONTINUE, test.decide(0, 0, 1));
+        assertTrue(test.logLikelihoodRatio(1, 0, 0) < test.getUpperBound());
+    }
+
+    /**
+     * A fair match checked after every game does not stop early, and rarely finds a player stronger.
+     */
+    @Test
+    void fairMatchDoesNotStopEarly() {
+        SequentialTest test = new SequentialTest();
+        SplitMix64 random = new SplitMix64(1);
+        int falseVerdicts = 0;
+        for (int match = 0; match < MATCHES; match++) {
+            long wins = 0;
+            long ties = 0;
+            long losses = 0;
+            for (int game = 1; game <= GAMES; game++) {
+                int outcome = random.nextInt(3);
+                if (outcome == 0) {
+                    wins++;
+                } else if (outcome == 1) {
+                    ties++;
+                } else {
+                    losses++;
+                }
+                int verdict = test.decide(wins, ties, losses);
+                if (verdict != SequentialTest.CONTINUE) {
+                    assertTrue(game >= SequentialTest.MIN_GAMES, "verdict after " + game + " games");
+                    if (verdict != SequentialTest.EVEN) {
+                        falseVerdicts++;
+                    }
+                    break;
+                }
+            }
+        }
+        // Each test errs with probability about 5%, and there are two of them
+        assertTrue(falseVerdicts <= MATCHES * 0.15, falseVerdicts + " of " + MATCHES + " fair matches stopped");
+    }
+}
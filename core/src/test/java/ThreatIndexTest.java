@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ThreatIndex}.
+ *
+ * @author Naama Even-Oz
+ */
+class ThreatIndexTest {
+
+    /** The board size of the games under test. */
+    private static final int SIZE = 7;
+
+    /** The win streak of the games under test. */
+    private static final int WIN_STREAK = 4;
+
+    /**
+     * Through random games with taken-back moves and resets, the index counts the same threats
+     * as a scan of every window, and its completing cells do complete a streak.
+     */
+    @Test
+    void countsThreatsLikeAFullScan() {
+        SplittableRandom random = new SplittableRandom(5);
+        Board board = new DenseBoard(SIZE);
+        ThreatIndex index = new ThreatIndex(SIZE, WIN_STREAK);
+        for (int step = 0; step < 3000; step++) {
+            int choice = random.nextInt(10);
+            if (board.isFull() || choice == 0) {
+                board.reset();
+            } else if (choice < 3 && board.getMoveCount() > 0) {
+                int cell = board.getMove(random.nextInt(board.getMoveCount()));
+                board.removeMark(cell / SIZE, cell % SIZE);
+            } else {
+                int cell = board.randomEmptyCell(random);
+                board.putMark(random.nextBoolean() ? Mark.X : Mark.O, cell / SIZE, cell % SIZE);
+            }
+            index.sync(board);
+            for (Mark mark : new Mark[]{Mark.X, Mark.O}) {
+                int threats = countThreats(board, mark);
+                assertEquals(threats, index.threatCount(mark), "threats of " + mark);
+                int cell = index.findCompletingCell(mark);
+                assertEquals(threats == 0, cell == Board.NO_MOVE);
+                if (cell != Board.NO_MOVE) {
+                    assertEquals(Mark.BLANK, board.getMark(cell));
+                    board.putMark(mark, cell / SIZE, cell % SIZE);
+                    assertTrue(board.completesStreak(cell / SIZE, cell % SIZE, WIN_STREAK));
+                    board.removeMark(cell / SIZE, cell % SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the windows a mark can complete with one move by scanning every window of the board.
+     *
+     * @param board the board.
+     * @param mark  X or O.
+     * @return the number of windows holding {@code WIN_STREAK - 1} of the mark and one blank cell.
+     */
+    private static int countThreats(Board board, Mark mark) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int threats = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                for (int[] direction : directions) {
+                    int endRow = row + (WIN_STREAK - 1) * direction[0];
+                    int endCol = col + (WIN_STREAK - 1) * direction[1];
+                    if (endRow >= SIZE || endCol < 0 || endCol >= SIZE) {
+                        continue;
+                    }
+                    int marks = 0;
+                    int blanks = 0;
+                    for (int i = 0; i < WIN_STREAK; i++) {
+                        Mark cell = board.getMark(row + i * direction[0], col + i * direction[1]);
+                        if (cell == mark) {
+                            marks++;
+                        } else if (cell == Mark.BLANK) {
+                            blanks++;
+                        }
+                    }
+                    if (marks == WIN_STREAK - 1 && blanks == 1) {
+                        threats++;
+                    }
+                }
+            }
+        }
+        return threats;
+    }
+}
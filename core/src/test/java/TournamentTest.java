@@ -0,0 +1,173 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link Tournament}.
+ *
+ * @author Naama Even-Oz
+ */
+class TournamentTest {
+
+    /** The number of rounds of each tournament. */
+    private static final int ROUNDS = 24;
+
+    /** The board size of each tournament. */
+    private static final int SIZE = 4;
+
+    /** The win streak of each tournament. */
+    private static final int WIN_STREAK = 3;
+
+    @TempDir
+    Path directory;
+
+    private PrintStream originalOut;
+
+    /** Silences the results blocks. */
+    @BeforeEach
+    void silenceOutput() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /** Restores standard output. */
+    @AfterEach
+    void restoreOutput() {
+        System.setOut(originalOut);
+    }
+
+    /**
+     * A seeded tournament plays the same games serially and in parallel, whatever the
+     * player type: the recorded games are compared, not only the tallies.
+     *
+     * @param playerType the type of the player facing a random player.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"whatever", "naive", "smart", "alphabeta", "mcts", "perfect"})
+    void seededTournamentPlaysSameGamesInParallel(String playerType) {
+        List<String> serial = playRecorded(playerType, 1);
+        List<String> parallel = playRecorded(playerType, 4);
+        assertEquals(serial, parallel);
+    }
+
+    /** Parallel players come from the suppliers; the names are only labels. */
+    @Test
+    void parallelTournamentUsesSuppliersNotNames() {
+        Path file = directory.resolve("labels.bin");
+        Tournament tournament = new Tournament(ROUNDS, new VoidRenderer(), new NaivePlayer(), new NaivePlayer());
+        tournament.setThreads(4);
+        tournament.setPlayerSuppliers(NaivePlayer::new, NaivePlayer::new);
+        tournament.setRecordFile(file);
+        tournament.playTournament(SIZE, WIN_STREAK, "Alice", "Bob");
+        assertEquals(ROUNDS, readGames(file).size());
+    }
+
+    /** A parallel tournament without player suppliers is rejected. */
+    @Test
+    void parallelTournamentNeedsSuppliers() {
+        Tournament tournament = new Tournament(ROUNDS, new VoidRenderer(), new NaivePlayer(), new NaivePlayer());
+        tournament.setThreads(4);
+        assertThrows(IllegalStateException.class,
+                () -> tournament.playTournament(SIZE, WIN_STREAK, "naive", "naive"));
+    }
+
+    /** Human players cannot play on worker threads. */
+    @Test
+    void parallelTournamentRejectsHumanPlayers() {
+        Tournament tournament = new Tournament(ROUNDS, new VoidRenderer(), new HumanPlayer(), new NaivePlayer());
+        tournament.setThreads(4);
+        tournament.setPlayerSuppliers(HumanPlayer::new, NaivePlayer::new);
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.playTournament(SIZE, WIN_STREAK, "human", "naive"));
+    }
+
+    /**
+     * Players whose state grows with the board area are rejected on sparse board sizes.
+     *
+     * @param playerType the player type.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"smart", "alphabeta", "mcts", "perfect"})
+    void sparseBoardRejectsAreaSizedPlayers(String playerType) {
+        Tournament tournament = new Tournament(1, new VoidRenderer(),
+                new PlayerFactory().buildPlayer(playerType, 5), new WhateverPlayer());
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.playTournament(BoardFactory.SPARSE_MIN_SIZE, 5, playerType, "whatever"));
+    }
+
+    /** Early draws are rejected on sparse board sizes. */
+    @Test
+    void sparseBoardRejectsEarlyDraws() {
+        Tournament tournament = new Tournament(1, new VoidRenderer(), new WhateverPlayer(), new WhateverPlayer());
+        tournament.setEarlyDraw(true);
+        assertThrows(IllegalArgumentException.class,
+                () -> tournament.playTournament(BoardFactory.SPARSE_MIN_SIZE, 5, "whatever", "whatever"));
+    }
+
+    /**
+     * Plays a seeded tournament of the given player type against a random player, and
+     * against itself, and returns the recorded games.
+     *
+     * @param playerType the player type.
+     * @param threads    the number of worker threads.
+     * @return the recorded games, one string each, sorted.
+     */
+    private List<String> playRecorded(String playerType, int threads) {
+        List<String> games = new ArrayList<>();
+        for (String opponentType : new String[] {"whatever", playerType}) {
+            Path file = directory.resolve(playerType + "-" + opponentType + "-" + threads + ".bin");
+            PlayerFactory factory = new PlayerFactory();
+            Tournament tournament = new Tournament(ROUNDS, new VoidRenderer(),
+                    factory.buildPlayer(playerType, WIN_STREAK), factory.buildPlayer(opponentType, WIN_STREAK));
+            tournament.setThreads(threads);
+            tournament.setPlayerSuppliers(() -> factory.buildPlayer(playerType, WIN_STREAK),
+                    () -> factory.buildPlayer(opponentType, WIN_STREAK));
+            tournament.setSeed(42);
+            tournament.setRecordFile(file);
+            tournament.playTournament(SIZE, WIN_STREAK, playerType, opponentType);
+            games.addAll(readGames(file));
+        }
+        Collections.sort(games);
+        return games;
+    }
+
+    /**
+     * Reads the games of a record file.
+     *
+     * @param file the record file.
+     * @return each game's colours, winner and moves, as a string.
+     */
+    private static List<String> readGames(Path file) {
+        List<String> games = new ArrayList<>();
+        try (GameReplayer replayer = new GameReplayer(file)) {
+            while (replayer.hasNext()) {
+                Mark winner = replayer.replayNext(new VoidRenderer());
+                StringBuilder game = new StringBuilder();
+                game.append(replayer.isPlayer2X()).append(' ').append(winner).append(':');
+                Board board = replayer.getBoard();
+                for (int i = 0; i < board.getMoveCount(); i++) {
+                    game.append(' ').append(board.getMove(i));
+                }
+                games.add(game.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return games;
+    }
+}